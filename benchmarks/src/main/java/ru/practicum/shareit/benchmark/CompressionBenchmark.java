@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.compression.GzipResponseFilter;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Цена сжатия ответа шлюзу на страницах списков; степень сжатия печатается при подготовке
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+    private static final int PAGE = 20;
+    private static final int COMMENTS = 10;
+
+    @Param({"bookings", "items"})
+    private String payload;
+
+    @Param({"1", "6", "9"})
+    private int level;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        json = objectMapper.writeValueAsBytes(payload.equals("bookings") ? bookings() : items());
+
+        int compressed = GzipResponseFilter.compress(json, level).length;
+        System.out.printf("%n%s: %d -> %d байт на уровне %d (%.1f%%)%n", payload, json.length, compressed, level,
+                100.0 * compressed / json.length);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return GzipResponseFilter.compress(json, level);
+    }
+
+    private List<BookingDto> bookings() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDto> bookings = new ArrayList<>(PAGE);
+        for (int i = 1; i <= PAGE; i++) {
+            User owner = new User(i, "Owner " + i, "owner" + i + "@mail.ru");
+            User booker = new User(PAGE + i, "Booker " + i, "booker" + i + "@mail.ru");
+            Item item = new Item(i, "Дрель " + i, "Аккумуляторная дрель с набором бит, модель " + i, true,
+                    owner, null);
+            bookings.add(BookingMapper.toBookingDto(new Booking(i, now.plusDays(i), now.plusDays(i + 1), item,
+                    booker, Status.APPROVED)));
+        }
+        return bookings;
+    }
+
+    private List<ItemDto> items() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1, "Owner", "owner@mail.ru");
+        List<ItemDto> items = new ArrayList<>(PAGE);
+        for (int i = 1; i <= PAGE; i++) {
+            List<CommentDto> comments = new ArrayList<>(COMMENTS);
+            for (int j = 1; j <= COMMENTS; j++) {
+                comments.add(new CommentDto(i * COMMENTS + j, "Пользовался неделю, всё работает. Отзыв " + j,
+                        "Booker " + j, now.minusDays(j)));
+            }
+            Item item = new Item(i, "Дрель " + i, "Аккумуляторная дрель с набором бит, модель " + i, true,
+                    owner, null);
+            items.add(ItemMapper.toItemDto(item,
+                    new BookingDtoShort(i, 2, now.minusDays(2), now.minusDays(1)),
+                    new BookingDtoShort(i + PAGE, 3, now.plusDays(1), now.plusDays(2)),
+                    comments));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private ObjectMapper objectMapper;
+
+    private BookingDto bookingDto;
+
+    private ItemDto itemDto;
+
+    @Setup
+    public void setUp() {
+        // тот же построитель, которым Spring Boot настраивает ObjectMapper для контроллеров
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1, "Owner", "owner@mail.ru");
+        User booker = new User(2, "Booker", "booker@mail.ru");
+        Item item = new Item(1, "Дрель", "Простая дрель", true, owner, null);
+        bookingDto = BookingMapper.toBookingDto(new Booking(1, now.plusDays(1), now.plusDays(2), item, booker,
+                Status.APPROVED));
+        itemDto = ItemMapper.toItemDto(item,
+                new BookingDtoShort(1, 2, now.minusDays(2), now.minusDays(1)),
+                new BookingDtoShort(2, 2, now.plusDays(1), now.plusDays(2)),
+                List.of(new CommentDto(1, "Отличная дрель", "Booker", now)));
+    }
+
+    @Benchmark
+    public byte[] writeBookingDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingDto);
+    }
+
+    @Benchmark
+    public byte[] writeItemDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemDto);
+    }
+}
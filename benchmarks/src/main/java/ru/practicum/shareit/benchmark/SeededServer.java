@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.time.LocalDateTime;
+
+@State(Scope.Benchmark)
+public class SeededServer {
+    @Param("100")
+    public int users;
+
+    @Param("1000")
+    public int items;
+
+    @Param("10000")
+    public int bookings;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "logging.level.root=WARN",
+                        "shareit.cache.invalidation.poll-interval=60000")
+                .run();
+        new Fixtures(context.getBean(JdbcTemplate.class))
+                .dataset(users, items, bookings, 0, 0, LocalDateTime.now())
+                .insert();
+        context.getBean(ItemSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -4,56 +4,83 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.AsyncServerTransport;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         HttpClientProperties properties, @Nullable AsyncServerTransport asyncTransport,
+                         @Nullable RequestCoalescer coalescer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                properties,
+                asyncTransport,
+                coalescer
         );
     }
 
-    public ResponseEntity<Object> createBooking(BookItemRequestDto requestDto, long userId) {
-        return post("", userId, requestDto);
+    public CompletableFuture<ResponseEntity<Object>> createBooking(BookItemRequestDto requestDto, long userId) {
+        return postAsync("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> updateBooking(long bookingId, long ownerId, Boolean approved) {
-        return patch("/" + bookingId + "?approved=" + approved, ownerId);
+    public CompletableFuture<ResponseEntity<Object>> createBookings(List<BookItemRequestDto> requestDtos,
+                                                                    long userId) {
+        return postAsync("/bulk", userId, requestDtos);
     }
 
-    public ResponseEntity<Object> getBookingById(long bookingId, long userId) {
-        return get("/" + bookingId, userId);
+    public CompletableFuture<ResponseEntity<Object>> updateBooking(long bookingId, long ownerId, Boolean approved) {
+        return patchAsync("/" + bookingId + "?approved=" + approved, ownerId);
     }
 
-    public ResponseEntity<Object> getBookings(BookingState state, long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(long bookingId, long userId,
+                                                                @Nullable String ifNoneMatch) {
+        return getAsync("/" + bookingId, userId, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getBookingsOwner(BookingState state, long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getBookings(BookingState state, long userId, Integer from,
+                                                                 Integer size, String cursor) {
+        return getAsync(listPath("", cursor), userId, listParameters(state, from, size, cursor));
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getBookingsOwner(BookingState state, long userId, Integer from,
+                                                                      Integer size, String cursor) {
+        return getAsync(listPath("/owner", cursor), userId, listParameters(state, from, size, cursor));
+    }
+
+    private static String listPath(String prefix, String cursor) {
+        String path = prefix + "?state={state}&from={from}&size={size}";
+        return cursor == null ? path : path + "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> listParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 }
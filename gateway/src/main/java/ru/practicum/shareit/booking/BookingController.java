@@ -3,9 +3,12 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -23,6 +26,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -32,51 +38,66 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     private static final String USER_ID = "X-Sharer-User-Id";
+    private static final int MAX_BULK_SIZE = 50;
 
     @ResponseBody
     @PostMapping()
-    public ResponseEntity<Object> addBooking(@Valid @RequestBody BookItemRequestDto bookingDto,
-                                             @RequestHeader(USER_ID) int bookerId) {
+    public CompletableFuture<ResponseEntity<Object>> addBooking(@Valid @RequestBody BookItemRequestDto bookingDto,
+                                                                @RequestHeader(USER_ID) int bookerId) {
         log.info("Получен POST-запрос к эндпоинту /bookings на добавление бронирования.");
         return bookingClient.createBooking(bookingDto, bookerId);
     }
 
+    @ResponseBody
+    @PostMapping("/bulk")
+    public CompletableFuture<ResponseEntity<Object>> addBookings(
+            @RequestBody @NotEmpty @Size(max = MAX_BULK_SIZE) List<@Valid BookItemRequestDto> bookingDtos,
+            @RequestHeader(USER_ID) int bookerId) {
+        log.info("Получен POST-запрос к эндпоинту /bookings/bulk на добавление {} бронирований.",
+                bookingDtos.size());
+        return bookingClient.createBookings(bookingDtos, bookerId);
+    }
+
     @ResponseBody
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBooking(@PathVariable int bookingId,
-                                                @RequestHeader(USER_ID) int ownerId,
-                                                @RequestParam Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> updateBooking(@PathVariable int bookingId,
+                                                                   @RequestHeader(USER_ID) int ownerId,
+                                                                   @RequestParam Boolean approved) {
         log.info("Получен PATCH-запрос к эндпоинту /bookings/{bookingId} на обновление статуса бронирования.");
         return bookingClient.updateBooking(bookingId, ownerId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@PathVariable int bookingId,
-                                                 @RequestHeader(USER_ID) int userId) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(@PathVariable int bookingId,
+                                                                    @RequestHeader(USER_ID) int userId,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                    String ifNoneMatch) {
         log.info("Получен GET-запрос к эндпоинту /bookings/{bookingId} на получение бронирования по id.");
-        return bookingClient.getBookingById(bookingId, userId);
+        return bookingClient.getBookingById(bookingId, userId, ifNoneMatch);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
-                                             @RequestHeader(USER_ID) int userId,
-                                             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                             @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                @RequestHeader(USER_ID) int userId,
+                                                                @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                @Positive @RequestParam(defaultValue = "10") int size,
+                                                                @RequestParam(required = false) String cursor) {
         log.info("Получен GET-запрос к эндпоинту /bookings на получение всех бронирований пользователя");
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.getBookings(bookingState, userId, from, size);
+        return bookingClient.getBookings(bookingState, userId, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOwner(@RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                   @RequestHeader(USER_ID) int userId,
-                                                   @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                   @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsOwner(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                      @RequestHeader(USER_ID) int userId,
+                                                                      @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                      @Positive @RequestParam(defaultValue = "10") int size,
+                                                                      @RequestParam(required = false) String cursor) {
         log.info("Получен GET-запрос к эндпоинту /bookings/owner " +
                 "на получение бронирований для всех вещей пользователя");
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.getBookingsOwner(bookingState, userId, from, size);
+        return bookingClient.getBookingsOwner(bookingState, userId, from, size, cursor);
     }
 }
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.http.proxy-engine", havingValue = "async")
+public class AsyncServerTransport implements DisposableBean {
+    private static final String GZIP = "gzip";
+
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration readTimeout;
+    private final boolean compression;
+
+    @Autowired
+    public AsyncServerTransport(HttpClientProperties properties, ObjectMapper objectMapper) {
+        this.executor = Executors.newFixedThreadPool(properties.getAsyncThreads());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(executor)
+                .build();
+        this.objectMapper = objectMapper;
+        this.readTimeout = properties.getReadTimeout();
+        this.compression = properties.isCompression();
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .method(method.name(), bodyPublisher(body));
+        headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+        if (compression) {
+            // в отличие от Apache HttpClient, java.net.http не распаковывает ответы сам
+            request.header(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(AsyncServerTransport::toResponseEntity);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(@Nullable Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Невозможно сериализовать тело запроса.", e);
+        }
+    }
+
+    private static byte[] decode(HttpResponse<byte[]> response) {
+        byte[] body = response.body();
+        boolean gzipped = response.headers()
+                .firstValue(HttpHeaders.CONTENT_ENCODING)
+                .map(GZIP::equalsIgnoreCase)
+                .orElse(false);
+        if (!gzipped || body == null || body.length == 0) {
+            return body;
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось распаковать ответ сервера.", e);
+        }
+    }
+
+    private static ResponseEntity<Object> toResponseEntity(HttpResponse<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.statusCode());
+        for (String name : BaseClient.PASSTHROUGH_HEADERS) {
+            response.headers()
+                    .firstValue(name)
+                    .ifPresent(value -> responseBuilder.header(name, value));
+        }
+
+        byte[] body = decode(response);
+        if (body == null || body.length == 0) {
+            return responseBuilder.build();
+        }
+        return responseBuilder.body(body);
+    }
+}
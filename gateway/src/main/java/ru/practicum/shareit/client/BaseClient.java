@@ -1,7 +1,9 @@
 package ru.practicum.shareit.client;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -13,10 +15,32 @@ import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+    static final List<String> PASSTHROUGH_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            "X-Next-Cursor");
+    static final String USER_ID = "X-Sharer-User-Id";
+
     protected final RestTemplate rest;
+    private final boolean passthrough;
+    @Nullable
+    private final AsyncServerTransport asyncTransport;
+    @Nullable
+    private final RequestCoalescer coalescer;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, new HttpClientProperties(), null, null);
+    }
+
+    public BaseClient(RestTemplate rest, HttpClientProperties properties,
+                      @Nullable AsyncServerTransport asyncTransport) {
+        this(rest, properties, asyncTransport, null);
+    }
+
+    public BaseClient(RestTemplate rest, HttpClientProperties properties,
+                      @Nullable AsyncServerTransport asyncTransport, @Nullable RequestCoalescer coalescer) {
         this.rest = rest;
+        this.passthrough = properties.isPassthrough();
+        this.asyncTransport = asyncTransport;
+        this.coalescer = coalescer;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -28,7 +52,7 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.GET, path, defaultHeaders(userId), parameters, null);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -40,7 +64,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.POST, path, defaultHeaders(userId), parameters, body);
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
@@ -48,7 +72,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PUT, path, defaultHeaders(userId), parameters, body);
     }
 
     protected <T> ResponseEntity<Object> patch(String path, T body) {
@@ -64,7 +88,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PATCH, path, defaultHeaders(userId), parameters, body);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -76,21 +100,126 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.DELETE, path, defaultHeaders(userId), parameters, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> getAsync(String path) {
+        return getAsync(path, null, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> getAsync(String path, long userId) {
+        return getAsync(path, userId, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> getAsync(String path, Long userId,
+                                                                 @Nullable Map<String, Object> parameters) {
+        return getAsync(path, userId, parameters, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> getAsync(String path, Long userId,
+                                                                 @Nullable Map<String, Object> parameters,
+                                                                 @Nullable String ifNoneMatch) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (coalescer == null) {
+            return makeAndSendRequestAsync(HttpMethod.GET, path, headers, parameters, null);
+        }
+        return coalescer.execute(expand(path, parameters), headers,
+                () -> makeAndSendRequestAsync(HttpMethod.GET, path, headers, parameters, null));
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> postAsync(String path, T body) {
+        return postAsync(path, null, null, body);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> postAsync(String path, long userId, T body) {
+        return postAsync(path, userId, null, body);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> postAsync(String path, Long userId,
+                                                                      @Nullable Map<String, Object> parameters,
+                                                                      T body) {
+        return makeAndSendRequestAsync(HttpMethod.POST, path, defaultHeaders(userId), parameters, body);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> putAsync(String path, long userId, T body) {
+        return putAsync(path, userId, null, body);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> putAsync(String path, long userId,
+                                                                     @Nullable Map<String, Object> parameters,
+                                                                     T body) {
+        return makeAndSendRequestAsync(HttpMethod.PUT, path, defaultHeaders(userId), parameters, body);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> patchAsync(String path, T body) {
+        return patchAsync(path, null, null, body);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> patchAsync(String path, long userId) {
+        return patchAsync(path, userId, null, null);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> patchAsync(String path, long userId, T body) {
+        return patchAsync(path, userId, null, body);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> patchAsync(String path, Long userId,
+                                                                       @Nullable Map<String, Object> parameters,
+                                                                       T body) {
+        return makeAndSendRequestAsync(HttpMethod.PATCH, path, defaultHeaders(userId), parameters, body);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> deleteAsync(String path) {
+        return deleteAsync(path, null, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> deleteAsync(String path, long userId) {
+        return deleteAsync(path, userId, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> deleteAsync(String path, Long userId,
+                                                                    @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequestAsync(HttpMethod.DELETE, path, defaultHeaders(userId), parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequestAsync(HttpMethod method, String path,
+                                                                                  HttpHeaders headers,
+                                                                                  @Nullable Map<String, Object> parameters,
+                                                                                  @Nullable T body) {
+        if (asyncTransport == null) {
+            return CompletableFuture.completedFuture(makeAndSendRequest(method, path, headers, parameters, body));
+        }
+
+        return asyncTransport.exchange(method, expand(path, parameters), headers, body)
+                .thenApply(this::prepareGatewayResponse);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+        Class<?> responseType = passthrough ? byte[].class : Object.class;
+        ResponseEntity<?> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(e.getStatusCode());
+            if (passthrough) {
+                copyPassthroughHeaders(e.getResponseHeaders(), responseBuilder);
+            }
+            return responseBuilder.body(e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -100,17 +229,21 @@ public class BaseClient {
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+            headers.set(USER_ID, String.valueOf(userId));
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    @SuppressWarnings("unchecked")
+    private ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<?> response) {
+        if (!passthrough && response.getStatusCode().is2xxSuccessful()) {
+            return (ResponseEntity<Object>) response;
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (passthrough) {
+            copyPassthroughHeaders(response.getHeaders(), responseBuilder);
+        }
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -118,4 +251,16 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    private static void copyPassthroughHeaders(@Nullable HttpHeaders headers, ResponseEntity.BodyBuilder responseBuilder) {
+        if (headers == null) {
+            return;
+        }
+        for (String name : PASSTHROUGH_HEADERS) {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                responseBuilder.header(name, value);
+            }
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.DeferredResultMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Ответ, готовый к возврату из контроллера (блокирующий режим, кэш поиска), пишется сразу на потоке запроса;
+// асинхронная обработка запроса начинается, только если ответ сервера ещё не получен
+@Component
+public class CompletedResponseHandler implements HandlerMethodReturnValueHandler, BeanPostProcessor {
+    @Nullable
+    private HandlerMethodReturnValueHandler entityHandler;
+    @Nullable
+    private HandlerMethodReturnValueHandler asyncHandler;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RequestMappingHandlerAdapter) {
+            RequestMappingHandlerAdapter adapter = (RequestMappingHandlerAdapter) bean;
+            List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+            for (HandlerMethodReturnValueHandler handler : handlers) {
+                if (handler instanceof HttpEntityMethodProcessor) {
+                    entityHandler = handler;
+                } else if (handler instanceof DeferredResultMethodReturnValueHandler) {
+                    asyncHandler = handler;
+                }
+            }
+            handlers.add(0, this);
+            adapter.setReturnValueHandlers(handlers);
+        }
+        return bean;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return entityHandler != null && asyncHandler != null
+                && CompletableFuture.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        CompletableFuture<?> response = (CompletableFuture<?>) returnValue;
+        if (response != null && response.isDone() && !response.isCompletedExceptionally()) {
+            entityHandler.handleReturnValue(response.join(), responseType(returnType), mavContainer, webRequest);
+        } else {
+            asyncHandler.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+        }
+    }
+
+    private static MethodParameter responseType(MethodParameter returnType) {
+        Type type = ResolvableType.forMethodParameter(returnType).getGeneric().getType();
+        return new MethodParameter(returnType) {
+            @Override
+            public Class<?> getParameterType() {
+                return ResolvableType.forType(type).resolve(ResponseEntity.class);
+            }
+
+            @Override
+            public Type getGenericParameterType() {
+                return type;
+            }
+        };
+    }
+}
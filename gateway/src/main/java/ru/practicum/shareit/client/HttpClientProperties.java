@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    private int asyncThreads = 4;
+
+    private boolean passthrough = true;
+
+    private boolean compression = true;
+
+    private int maxTotal = 200;
+
+    private int maxPerRoute = 200;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    private Duration keepAlive = Duration.ofSeconds(60);
+}
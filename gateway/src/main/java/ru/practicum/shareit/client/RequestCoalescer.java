@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.http.coalesce-gets", havingValue = "true", matchIfMissing = true)
+public class RequestCoalescer {
+    public static final String REQUESTS = "shareit.gateway.coalescing.requests";
+    public static final String FAN_IN = "shareit.gateway.coalescing.fan.in";
+    public static final String IN_FLIGHT = "shareit.gateway.coalescing.in.flight";
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+    private final DistributionSummary fanIn;
+
+    @Autowired
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder(REQUESTS)
+                .tag("result", "upstream")
+                .register(meterRegistry);
+        this.followers = Counter.builder(REQUESTS)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        this.fanIn = DistributionSummary.builder(FAN_IN)
+                .description("Число клиентских запросов, обслуженных одним обращением к серверу")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT, inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(URI uri, HttpHeaders headers,
+                                                             Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        String key = key(uri, headers);
+        Flight created = new Flight();
+        Flight flight = inFlight.compute(key, (k, existing) -> {
+            if (existing == null) {
+                return created;
+            }
+            existing.requests++;
+            return existing;
+        });
+        if (flight != created) {
+            followers.increment();
+            return flight.response.copy();
+        }
+
+        leaders.increment();
+        try {
+            call.get().whenComplete((response, e) -> complete(key, flight, response, e));
+        } catch (RuntimeException e) {
+            complete(key, flight, null, e);
+        }
+        return flight.response.copy();
+    }
+
+    private void complete(String key, Flight flight, @Nullable ResponseEntity<Object> response,
+                          @Nullable Throwable e) {
+        inFlight.remove(key, flight);
+        fanIn.record(flight.requests);
+        if (e != null) {
+            flight.response.completeExceptionally(e);
+        } else {
+            flight.response.complete(response);
+        }
+    }
+
+    private String key(URI uri, HttpHeaders headers) {
+        StringBuilder key = new StringBuilder(uri.toString());
+        // ответы зависят от пользователя, поэтому запросы разных пользователей не объединяются
+        String userId = headers.getFirst(BaseClient.USER_ID);
+        if (userId != null) {
+            key.append(' ').append(userId);
+        }
+        String ifNoneMatch = headers.getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            key.append(' ').append(ifNoneMatch);
+        }
+        return key.toString();
+    }
+
+    private static class Flight {
+        private final CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+        private int requests = 1;
+    }
+}
@@ -4,54 +4,88 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncServerTransport;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final SearchResponseCache searchCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      HttpClientProperties properties, @Nullable AsyncServerTransport asyncTransport,
+                      @Nullable RequestCoalescer coalescer, SearchResponseCache searchCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                properties,
+                asyncTransport,
+                coalescer
         );
+        this.searchCache = searchCache;
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> itemById(int itemId, int userId,
+                                                         @Nullable String ifNoneMatch) {
+        return getAsync("/" + itemId, (long) userId, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> itemById(int itemId, int userId) {
-        return get("/" + itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> allItemsByOwner(long ownerId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return getAsync("?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> allItemsByOwner(long ownerId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> searchItem(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
+                "text", SearchResponseCache.normalize(text),
                 "from", from,
                 "size", size
         );
-        return get("?from={from}&size={size}", ownerId, parameters);
+        return searchCache.get(text, from, size,
+                () -> getAsync("/search?text={text}&from={from}&size={size}", null, parameters));
     }
 
-    public ResponseEntity<Object> searchItem(String text, Integer from, Integer size) {
-        return get("/search?text=" + text + "&from=" + from + "&size=" + size);
+    public CompletableFuture<ResponseEntity<Object>> getComments(int itemId, String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (cursor == null) {
+            return getAsync("/" + itemId + "/comments?size={size}", null, parameters);
+        }
+        parameters.put("cursor", cursor);
+        return getAsync("/" + itemId + "/comments?size={size}&cursor={cursor}", null, parameters);
     }
 
-    public ResponseEntity<Object> createItem(ItemDto itemDto, int ownerId) {
-        return post("", ownerId, itemDto);
+    public CompletableFuture<ResponseEntity<Object>> createItem(ItemDto itemDto, int ownerId) {
+        return postAsync("", ownerId, itemDto)
+                .whenComplete((response, e) -> searchCache.invalidateAll());
     }
 
-    public ResponseEntity<Object> updateItem(ItemDto itemDto, int itemId, int ownerId) {
-        return patch("/" + itemId, ownerId, itemDto);
+    public CompletableFuture<ResponseEntity<Object>> updateItem(ItemDto itemDto, int itemId, int ownerId) {
+        return patchAsync("/" + itemId, ownerId, itemDto)
+                .whenComplete((response, e) -> searchCache.invalidateAll());
     }
 
-    public ResponseEntity<Object> addComment(CommentDto commentDto, int itemId, int userId) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public CompletableFuture<ResponseEntity<Object>> addComment(CommentDto commentDto, int itemId, int userId) {
+        return postAsync("/" + itemId + "/comment", userId, commentDto);
     }
 }
@@ -6,6 +6,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -23,6 +24,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -34,50 +37,60 @@ public class ItemController {
     private static final String USER_ID = "X-Sharer-User-Id";
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> itemById(@PathVariable int itemId,
-                                           @RequestHeader(USER_ID) int userId) {
+    public CompletableFuture<ResponseEntity<Object>> itemById(@PathVariable int itemId,
+                                                              @RequestHeader(USER_ID) int userId,
+                                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                              String ifNoneMatch) {
         log.info("Получен GET-запрос к эндпоинту /items/{itemId} на получение вещи по id.");
-        return itemClient.itemById(itemId, userId);
+        return itemClient.itemById(itemId, userId, ifNoneMatch);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> allItemsByOwner(@RequestHeader(USER_ID) int ownerId,
-                                                  @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                  @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> allItemsByOwner(@RequestHeader(USER_ID) int ownerId,
+                                                                     @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                     @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Получен GET-запрос к эндпоинту /items на получение всех вещей владельца по id.");
         return itemClient.allItemsByOwner(ownerId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@RequestParam String text,
-                                             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                             @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> searchItem(@RequestParam String text,
+                                                                @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Получен GET-запрос к эндпоинту /items/search на поиск вещи.");
         return itemClient.searchItem(text, from, size);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public CompletableFuture<ResponseEntity<Object>> getComments(@PathVariable int itemId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @Positive @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен GET-запрос к эндпоинту /items/{itemId}/comments на получение комментариев вещи.");
+        return itemClient.getComments(itemId, cursor, size);
+    }
+
     @ResponseBody
     @PostMapping()
-    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemDto itemDto,
-                                             @RequestHeader(USER_ID) int ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(@Valid @RequestBody ItemDto itemDto,
+                                                                @RequestHeader(USER_ID) int ownerId) {
         log.info("Получен POST-запрос к эндпоинту /items на добавление вещи.");
         return itemClient.createItem(itemDto, ownerId);
     }
 
     @ResponseBody
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestBody ItemDto itemDto,
-                                             @PathVariable int itemId,
-                                             @RequestHeader(USER_ID) int ownerId) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestBody ItemDto itemDto,
+                                                                @PathVariable int itemId,
+                                                                @RequestHeader(USER_ID) int ownerId) {
         log.info("Получен PATCH-запрос к эндпоинту /items/{itemId} на обновление вещи по id.");
         return itemClient.updateItem(itemDto, itemId, ownerId);
     }
 
     @ResponseBody
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@Valid @RequestBody CommentDto commentDto,
-                                             @PathVariable int itemId,
-                                             @RequestHeader(USER_ID) int userId) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(@Valid @RequestBody CommentDto commentDto,
+                                                                @PathVariable int itemId,
+                                                                @RequestHeader(USER_ID) int userId) {
         log.info("Получен POST-запрос к эндпоинту /items/{itemId}/comment на добавление комментария.");
         return itemClient.addComment(commentDto, itemId, userId);
     }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.search-cache")
+public class SearchCacheProperties {
+    private boolean enabled = true;
+
+    private Duration ttl = Duration.ofSeconds(5);
+
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+@Component
+@EnableConfigurationProperties(SearchCacheProperties.class)
+public class SearchResponseCache {
+    public static final String CACHE = "itemSearch";
+
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int MIN_ENTRIES = 16;
+
+    private final boolean enabled;
+    private final long maxEntryWeight;
+    private final Cache<SearchKey, ResponseEntity<Object>> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public SearchResponseCache(SearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.maxEntryWeight = properties.getMaxSize().toBytes() / MIN_ENTRIES;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher(SearchResponseCache::weigh)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> get(String text, int from, int size,
+                                                         Supplier<CompletableFuture<ResponseEntity<Object>>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+
+        SearchKey key = new SearchKey(normalize(text), from / size * size, size);
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        long started = generation.get();
+        return search.get().thenApply(response -> {
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() instanceof byte[]
+                    && weigh(key, response) <= maxEntryWeight) {
+                cache.put(key, response);
+                // ответ, полученный до изменения вещей, не должен пережить сброс
+                if (generation.get() != started) {
+                    cache.invalidate(key);
+                }
+            }
+            return response;
+        });
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    static String normalize(String text) {
+        return SPACES.matcher(text.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    private static int weigh(SearchKey key, ResponseEntity<Object> response) {
+        return ENTRY_OVERHEAD + key.getText().length() * 2 + ((byte[]) response.getBody()).length;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class SearchKey {
+        private String text;
+        private int from;
+        private int size;
+    }
+}
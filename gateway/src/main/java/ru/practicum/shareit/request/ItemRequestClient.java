@@ -4,45 +4,57 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncServerTransport;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory,
+                             HttpClientProperties properties, @Nullable AsyncServerTransport asyncTransport,
+                             @Nullable RequestCoalescer coalescer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                properties,
+                asyncTransport,
+                coalescer
         );
     }
 
-    public ResponseEntity<Object> createItemRequest(ItemRequestDto requestDto, int requesterId) {
-        return post("", requesterId, requestDto);
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(ItemRequestDto requestDto, int requesterId) {
+        return postAsync("", requesterId, requestDto);
     }
 
-    public ResponseEntity<Object> getItemRequestsByOwnerId(int requesterId) {
-        return get("", requesterId);
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestsByOwnerId(int requesterId) {
+        return getAsync("", requesterId);
     }
 
-    public ResponseEntity<Object> allItemRequests(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> allItemRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return getAsync("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> itemRequestById(int requestId, int requesterId) {
-        return get("/" + requestId, requesterId);
+    public CompletableFuture<ResponseEntity<Object>> itemRequestById(int requestId, int requesterId,
+                                                                 @Nullable String ifNoneMatch) {
+        return getAsync("/" + requestId, (long) requesterId, null, ifNoneMatch);
     }
 }
@@ -6,6 +6,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/requests")
@@ -34,30 +36,32 @@ public class ItemRequestController {
 
     @ResponseBody
     @PostMapping()
-    public ResponseEntity<Object> createItemRequest(@Valid @RequestBody ItemRequestDto requestDto,
-                                                    @RequestHeader(USER_ID) int requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(@Valid @RequestBody ItemRequestDto requestDto,
+                                                                       @RequestHeader(USER_ID) int requesterId) {
         log.info("Получен POST-запрос к эндпоинту /requests на создание запроса вещи.");
         return requestClient.createItemRequest(requestDto, requesterId);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getItemRequestsByOwnerId(@RequestHeader(USER_ID) int requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestsByOwnerId(@RequestHeader(USER_ID) int requesterId) {
         log.info("Получен GET-запрос к эндпоинту /requests на получение списка собственных запросов на вещи.");
         return requestClient.getItemRequestsByOwnerId(requesterId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> allItemRequests(@RequestHeader(USER_ID) int userId,
-                                                  @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                  @Positive @RequestParam(defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity<Object>> allItemRequests(@RequestHeader(USER_ID) int userId,
+                                                                     @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                     @Positive @RequestParam(defaultValue = "10") int size) {
         log.info("Получен GET-запрос к эндпоинту /requests/all на получение списка запросов на вещи.");
         return requestClient.allItemRequests(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> itemRequestById(@PathVariable int requestId,
-                                                  @RequestHeader(USER_ID) int requesterId) {
+    public CompletableFuture<ResponseEntity<Object>> itemRequestById(@PathVariable int requestId,
+                                                                     @RequestHeader(USER_ID) int requesterId,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                     String ifNoneMatch) {
         log.info("Получен GET-запрос к эндпоинту /requests/{requestId} на получение запроса на вещь по id.");
-        return requestClient.itemRequestById(requestId, requesterId);
+        return requestClient.itemRequestById(requestId, requesterId, ifNoneMatch);
     }
 }
@@ -4,43 +4,60 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncServerTransport;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.item.SearchResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
+    private final SearchResponseCache searchCache;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      HttpClientProperties properties, @Nullable AsyncServerTransport asyncTransport,
+                      @Nullable RequestCoalescer coalescer, SearchResponseCache searchCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                properties,
+                asyncTransport,
+                coalescer
         );
+        this.searchCache = searchCache;
     }
 
-    public ResponseEntity<Object> userById(int userId) {
-        return get("/" + userId);
+    public CompletableFuture<ResponseEntity<Object>> userById(int userId) {
+        return getAsync("/" + userId);
     }
 
-    public ResponseEntity<Object> allUsers() {
-        return get("");
+    public CompletableFuture<ResponseEntity<Object>> allUsers() {
+        return getAsync("");
     }
 
-    public ResponseEntity<Object> createUser(UserDto userDto) {
-        return post("", userDto);
+    public CompletableFuture<ResponseEntity<Object>> createUser(UserDto userDto) {
+        return postAsync("", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto userDto, int userId) {
-        return patch("/" + userId, userDto);
+    public CompletableFuture<ResponseEntity<Object>> updateUser(UserDto userDto, int userId) {
+        return patchAsync("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> deleteUser(int userId) {
-        return delete("/" + userId);
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(int userId) {
+        return deleteAsync("/" + userId)
+                .whenComplete((response, e) -> searchCache.invalidateAll());
     }
 }
@@ -19,6 +19,8 @@ import org.springframework.web.bind.annotation.ResponseBody;
 
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -28,33 +30,33 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> userById(@PathVariable int userId) {
+    public CompletableFuture<ResponseEntity<Object>> userById(@PathVariable int userId) {
         log.info("Получен GET-запрос к эндпоинту /users/{userId} на получение пользователя по id.");
         return userClient.userById(userId);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> allUsers() {
+    public CompletableFuture<ResponseEntity<Object>> allUsers() {
         log.info("Получен GET-запрос к эндпоинту /users на получение всех пользователей.");
         return userClient.allUsers();
     }
 
     @ResponseBody
     @PostMapping()
-    public ResponseEntity<Object> createUser(@Valid @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@Valid @RequestBody UserDto userDto) {
         log.info("Получен POST-запрос к эндпоинту /users на добавление пользователя.");
         return userClient.createUser(userDto);
     }
 
     @ResponseBody
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody UserDto userDto, @PathVariable int userId) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@RequestBody UserDto userDto, @PathVariable int userId) {
         log.info("Получен PATCH-запрос к эндпоинту /users/{userId} на обновление пользователя по id.");
         return userClient.updateUser(userDto, userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable int userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@PathVariable int userId) {
         log.info("Получен DELETE-запрос к эндпоинту /users/{userId} на удаление пользователя.");
         return userClient.deleteUser(userId);
     }
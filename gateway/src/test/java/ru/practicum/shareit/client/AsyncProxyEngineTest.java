@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class AsyncProxyEngineTest {
+    private static final StubShareItServer server = new StubShareItServer();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AsyncServerTransport asyncTransport;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", server::getUrl);
+        registry.add("shareit-server.http.proxy-engine", () -> "async");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void shouldProxyGetThroughAsyncEngine() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+
+        ResponseEntity<String> response = restTemplate.exchange("/items/5", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        assertNotNull(asyncTransport);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"id\":  5}", response.getBody());
+        assertEquals("GET /items/5 1", server.getLastRequest());
+    }
+
+    @Test
+    public void shouldPassServerErrorStatus() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/users/404", String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void shouldKeepControllerValidation() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+
+        ResponseEntity<String> response = restTemplate.exchange("/items?from=-1", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @Test
+    public void shouldPassNotModifiedForCurrentEtag() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+        ResponseEntity<String> response = restTemplate.exchange("/items/5", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        assertEquals("\"5-0\"", response.getHeaders().getETag());
+
+        headers.setIfNoneMatch(response.getHeaders().getETag());
+        response = restTemplate.exchange("/items/5", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"5-0\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void shouldDecompressServerResponse() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+
+        ResponseEntity<String> response = restTemplate.exchange("/requests/all", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"id\":  all" + "x".repeat(StubShareItServer.LARGE_BODY) + "}", response.getBody());
+    }
+}
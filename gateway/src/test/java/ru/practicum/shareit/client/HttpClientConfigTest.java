@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpClientConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(HttpClientConfig.class);
+
+    @Test
+    public void shouldBuildPoolAndTimeoutsFromDefaults() {
+        contextRunner.run(context -> {
+            PoolingHttpClientConnectionManager connectionManager =
+                    context.getBean(PoolingHttpClientConnectionManager.class);
+            assertEquals(200, connectionManager.getMaxTotal());
+            assertEquals(200, connectionManager.getDefaultMaxPerRoute());
+            assertEquals(2_000, connectionManager.getValidateAfterInactivity());
+
+            RequestConfig requestConfig = requestConfig(context.getBean(CloseableHttpClient.class));
+            assertEquals(2_000, requestConfig.getConnectTimeout());
+            assertEquals(10_000, requestConfig.getSocketTimeout());
+            assertEquals(1_000, requestConfig.getConnectionRequestTimeout());
+        });
+    }
+
+    @Test
+    public void shouldBuildPoolAndTimeoutsFromProperties() {
+        contextRunner.withPropertyValues("shareit-server.http.max-total=50",
+                        "shareit-server.http.max-per-route=20",
+                        "shareit-server.http.connect-timeout=300ms",
+                        "shareit-server.http.read-timeout=4s",
+                        "shareit-server.http.connection-request-timeout=150ms")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager =
+                            context.getBean(PoolingHttpClientConnectionManager.class);
+                    assertEquals(50, connectionManager.getMaxTotal());
+                    assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+
+                    RequestConfig requestConfig = requestConfig(context.getBean(CloseableHttpClient.class));
+                    assertEquals(300, requestConfig.getConnectTimeout());
+                    assertEquals(4_000, requestConfig.getSocketTimeout());
+                    assertEquals(150, requestConfig.getConnectionRequestTimeout());
+                });
+    }
+
+    @Test
+    public void shouldCapServerKeepAlive() {
+        ConnectionKeepAliveStrategy strategy = HttpClientConfig.keepAliveStrategy(60_000);
+
+        assertEquals(60_000, strategy.getKeepAliveDuration(response("timeout=120"), new BasicHttpContext()));
+        assertEquals(5_000, strategy.getKeepAliveDuration(response("timeout=5"), new BasicHttpContext()));
+        assertEquals(60_000, strategy.getKeepAliveDuration(response(null), new BasicHttpContext()));
+    }
+
+    private static RequestConfig requestConfig(CloseableHttpClient httpClient) {
+        return ((Configurable) httpClient).getConfig();
+    }
+
+    private static HttpResponse response(String keepAlive) {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        if (keepAlive != null) {
+            response.addHeader("Keep-Alive", keepAlive);
+        }
+        return response;
+    }
+}
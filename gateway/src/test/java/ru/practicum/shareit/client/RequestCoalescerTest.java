@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestCoalescerTest {
+    private static final URI ITEM = URI.create("http://localhost:9090/items/5");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+    private final Supplier<CompletableFuture<ResponseEntity<Object>>> call = () -> {
+        calls.incrementAndGet();
+        return upstream;
+    };
+
+    @Test
+    public void shouldShareOneUpstreamCallBetweenIdenticalRequests() {
+        RequestCoalescer coalescer = coalescer();
+
+        CompletableFuture<ResponseEntity<Object>> first = coalescer.execute(ITEM, headers(1L, null), call);
+        CompletableFuture<ResponseEntity<Object>> second = coalescer.execute(ITEM, headers(1L, null), call);
+        assertFalse(first.isDone());
+        upstream.complete(ResponseEntity.ok("{\"id\": 5}"));
+
+        assertEquals(1, calls.get());
+        assertEquals("{\"id\": 5}", first.join().getBody());
+        assertEquals("{\"id\": 5}", second.join().getBody());
+        assertEquals(1, meterRegistry.find(RequestCoalescer.REQUESTS).tag("result", "upstream").counter().count());
+        assertEquals(1, meterRegistry.find(RequestCoalescer.REQUESTS).tag("result", "coalesced").counter().count());
+        assertEquals(2, meterRegistry.find(RequestCoalescer.FAN_IN).summary().totalAmount());
+    }
+
+    @Test
+    public void shouldSeparateUsersAndCompletedRequests() {
+        RequestCoalescer coalescer = coalescer();
+
+        coalescer.execute(ITEM, headers(1L, null), call);
+        coalescer.execute(ITEM, headers(2L, null), call);
+        upstream.complete(ResponseEntity.ok().build());
+        coalescer.execute(ITEM, headers(1L, null), call);
+
+        assertEquals(3, calls.get());
+        assertEquals(0, meterRegistry.find(RequestCoalescer.IN_FLIGHT).gauge().value());
+    }
+
+    @Test
+    public void shouldPropagateFailureToAllParticipants() {
+        RequestCoalescer coalescer = coalescer();
+
+        CompletableFuture<ResponseEntity<Object>> first = coalescer.execute(ITEM, headers(1L, null), call);
+        CompletableFuture<ResponseEntity<Object>> second = coalescer.execute(ITEM, headers(1L, null), call);
+        upstream.completeExceptionally(new IllegalStateException("Сервер недоступен"));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldSeparateConditionalRequests() {
+        RequestCoalescer coalescer = coalescer();
+
+        coalescer.execute(ITEM, headers(1L, null), call);
+        coalescer.execute(ITEM, headers(1L, "\"item-5-0-0\""), call);
+        coalescer.execute(ITEM, headers(1L, "\"item-5-0-0\""), call);
+
+        assertEquals(2, calls.get());
+    }
+
+    private HttpHeaders headers(long userId, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(BaseClient.USER_ID, String.valueOf(userId));
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return headers;
+    }
+
+    private RequestCoalescer coalescer() {
+        return new RequestCoalescer(meterRegistry);
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+public class StubShareItServer {
+    public static final int LARGE_BODY = 4096;
+
+    private final HttpServer server;
+    private final AtomicReference<String> lastRequest = new AtomicReference<>();
+
+    public StubShareItServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            lastRequest.set(exchange.getRequestMethod() + " " + path + " "
+                    + exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            boolean listing = id.equals("all");
+            String etag = "\"" + id + "-0\"";
+            if (!listing) {
+                exchange.getResponseHeaders().set("ETag", etag);
+            }
+            if (!listing && etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            int status = path.endsWith("/404") ? 404 : 200;
+            String description = listing ? "x".repeat(LARGE_BODY) : "";
+            byte[] body = ("{\"id\":  " + id + description + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = gzip(body);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public String getLastRequest() {
+        return lastRequest.get();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SearchResponseCacheTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Supplier<CompletableFuture<ResponseEntity<Object>>> search = () -> {
+        calls.incrementAndGet();
+        return CompletableFuture.completedFuture(ResponseEntity.ok(body("[{\"id\": 1}]")));
+    };
+
+    @Test
+    public void shouldServeRepeatedSearchFromCache() {
+        SearchResponseCache cache = cache(new SearchCacheProperties());
+
+        cache.get("Drill", 0, 10, search).join();
+        ResponseEntity<Object> response = cache.get("  drill ", 3, 10, search).join();
+
+        assertEquals(1, calls.get());
+        assertEquals("[{\"id\": 1}]", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldKeepPagesApartAndSkipErrors() {
+        SearchResponseCache cache = cache(new SearchCacheProperties());
+
+        cache.get("drill", 0, 10, search).join();
+        cache.get("drill", 10, 10, search).join();
+        cache.get("drill", 0, 5, search).join();
+        Supplier<CompletableFuture<ResponseEntity<Object>>> failing = () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_GATEWAY).build());
+        };
+        cache.get("saw", 0, 10, failing).join();
+        cache.get("saw", 0, 10, failing).join();
+
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    public void shouldDropCachedSearchesOnInvalidation() {
+        SearchResponseCache cache = cache(new SearchCacheProperties());
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+        cache.get("drill", 0, 10, search).join();
+        cache.invalidateAll();
+        cache.get("drill", 0, 10, search).join();
+        CompletableFuture<ResponseEntity<Object>> inFlight = cache.get("saw", 0, 10, () -> upstream);
+        cache.invalidateAll();
+        upstream.complete(ResponseEntity.ok(body("[]")));
+        inFlight.join();
+        cache.get("saw", 0, 10, search).join();
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void shouldDropCachedSearchesOnlyOnUserDelete() {
+        SearchResponseCache cache = cache(new SearchCacheProperties());
+        UserClient userClient = new UserClient("http://localhost:9090", new RestTemplateBuilder(),
+                (uri, method) -> {
+                    MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+                    request.setResponse(new MockClientHttpResponse(body("{\"id\": 1}"), HttpStatus.OK));
+                    return request;
+                }, new HttpClientProperties(), null, null, cache);
+
+        cache.get("drill", 0, 10, search).join();
+        userClient.updateUser(new UserDto(1, "Renamed", null), 1).join();
+        cache.get("drill", 0, 10, search).join();
+
+        assertEquals(1, calls.get());
+
+        userClient.deleteUser(1).join();
+        cache.get("drill", 0, 10, search).join();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void shouldEncodeSearchTextInUpstreamUrl() {
+        List<URI> requested = new ArrayList<>();
+        ItemClient itemClient = new ItemClient("http://localhost:9090", new RestTemplateBuilder(),
+                (uri, method) -> {
+                    requested.add(uri);
+                    MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+                    request.setResponse(new MockClientHttpResponse(body("[]"), HttpStatus.OK));
+                    return request;
+                }, new HttpClientProperties(), null, null, cache(new SearchCacheProperties()));
+
+        itemClient.searchItem("Drill & saw #1 100%", 0, 10).join();
+
+        assertEquals("text=drill%20%26%20saw%20%231%20100%25&from=0&size=10", requested.get(0).getRawQuery());
+    }
+
+    @Test
+    public void shouldBypassCacheWhenDisabled() {
+        SearchCacheProperties properties = new SearchCacheProperties();
+        properties.setEnabled(false);
+        SearchResponseCache cache = cache(properties);
+
+        cache.get("drill", 0, 10, search).join();
+        cache.get("drill", 0, 10, search).join();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void shouldNotKeepResponsesLargerThanBudget() {
+        SearchCacheProperties properties = new SearchCacheProperties();
+        properties.setMaxSize(DataSize.ofBytes(16));
+        SearchResponseCache cache = cache(properties);
+
+        cache.get("drill", 0, 10, search).join();
+        cache.get("drill", 0, 10, search).join();
+
+        assertEquals(2, calls.get());
+    }
+
+    private SearchResponseCache cache(SearchCacheProperties properties) {
+        return new SearchResponseCache(properties, new SimpleMeterRegistry());
+    }
+
+    private static byte[] body(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
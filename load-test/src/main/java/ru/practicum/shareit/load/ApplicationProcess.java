@@ -0,0 +1,82 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Шлюз и сервер содержат классы с одинаковыми именами, а встроенный Tomcat
+// регистрирует глобальную фабрику URL, поэтому каждое приложение запускается в своей JVM
+public class ApplicationProcess implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final String name;
+    private final Process process;
+    private final Path log;
+
+    private ApplicationProcess(String name, Process process, Path log) {
+        this.name = name;
+        this.process = process;
+        this.log = log;
+    }
+
+    public static ApplicationProcess start(String name, Path jar, int port, List<String> args, Path log)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(name, process, log);
+        Runtime.getRuntime().addShutdownHook(new Thread(application::close));
+        application.awaitHealthy(port);
+        return application;
+    }
+
+    public void checkAlive() {
+        if (!process.isAlive()) {
+            throw new IllegalStateException(name + " завершился во время нагрузки, см. " + log);
+        }
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+    }
+
+    private void awaitHealthy(int port) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " завершился при запуске, см. " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // приложение ещё не открыло порт
+            } catch (IOException e) {
+                throw new IllegalStateException("Не удалось проверить состояние " + name, e);
+            }
+            Thread.sleep(200);
+        }
+        close();
+        throw new IllegalStateException(name + " не запустился за " + STARTUP_TIMEOUT + ", см. " + log);
+    }
+}
@@ -0,0 +1,235 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadTest {
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final String[] SEARCH_TEXTS = {"drill", "saw", "item1", "missing"};
+
+    private final LoadTestConfig config;
+    private final ShareItClient client;
+    private final Random random;
+    private final LocalDateTime slotBase = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    private final List<Integer> userIds = new ArrayList<>();
+    private final List<Integer> itemIds = new ArrayList<>();
+    private final List<Integer> itemOwners = new ArrayList<>();
+    private final List<PendingBooking> pendingBookings = new ArrayList<>();
+    private int nextSlot;
+    private int nextPending;
+
+    public LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.client = new ShareItClient("http://localhost:" + config.getGatewayPort(), config.getTimeout());
+        this.random = new Random(config.getSeed());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        try (ApplicationProcess server = startServer(config);
+             ApplicationProcess gateway = startGateway(config)) {
+            LoadTest loadTest = new LoadTest(config);
+            Map<String, Object> result = loadTest.run();
+            server.checkAlive();
+            gateway.checkAlive();
+            String json = loadTest.client.toJson(result);
+            System.out.println(json);
+            if (config.getResult() != null) {
+                Files.writeString(config.getResult(), json);
+            }
+        }
+    }
+
+    public Map<String, Object> run() throws Exception {
+        List<Operation> warmupPlan = plan(count(config.getWarmup().toNanos()));
+        List<Operation> measuredPlan = plan(count(config.getDuration().toNanos()));
+        long approvals = warmupPlan.stream().filter(Operation.APPROVE_BOOKING::equals).count()
+                + measuredPlan.stream().filter(Operation.APPROVE_BOOKING::equals).count();
+        seed((int) approvals);
+
+        // запросы строятся заранее, чтобы подготовка не влияла на расписание отправки
+        drive(toRequests(warmupPlan));
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        long lagNanos = drive(toRequests(measuredPlan), recorders);
+
+        double seconds = config.getDuration().toNanos() / 1e9;
+        LatencyRecorder total = new LatencyRecorder();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, LatencyRecorder> entry : recorders.entrySet()) {
+            operations.put(entry.getKey().getKey(), entry.getValue().summary(seconds));
+            total.addAll(entry.getValue());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rate", config.getRate());
+        result.put("durationSeconds", seconds);
+        result.put("seed", config.getSeed());
+        result.put("maxSendLagMs", lagNanos / 1_000_000.0);
+        result.put("total", total.summary(seconds));
+        result.put("operations", operations);
+        return result;
+    }
+
+    private static ApplicationProcess startServer(LoadTestConfig config) throws Exception {
+        List<String> serverArgs = new ArrayList<>(List.of("--logging.level.root=WARN"));
+        if (config.getDatasourceUrl() == null) {
+            serverArgs.add("--spring.profiles.active=test");
+            serverArgs.add("--spring.datasource.url=jdbc:h2:mem:load");
+        } else {
+            serverArgs.add("--spring.datasource.url=" + config.getDatasourceUrl());
+            serverArgs.add("--spring.datasource.username=" + config.getDatasourceUsername());
+            serverArgs.add("--spring.datasource.password=" + config.getDatasourcePassword());
+        }
+        return ApplicationProcess.start("server", config.getServerJar(), config.getServerPort(), serverArgs,
+                config.getLogDir().resolve("server.log"));
+    }
+
+    private static ApplicationProcess startGateway(LoadTestConfig config) throws Exception {
+        List<String> gatewayArgs = List.of(
+                "--shareit-server.url=http://localhost:" + config.getServerPort(),
+                "--logging.level.root=WARN");
+        return ApplicationProcess.start("gateway", config.getGatewayJar(), config.getGatewayPort(), gatewayArgs,
+                config.getLogDir().resolve("gateway.log"));
+    }
+
+    private int count(long nanos) {
+        return (int) (nanos / 1e9 * config.getRate());
+    }
+
+    private List<Operation> plan(int count) {
+        List<Operation> weighted = new ArrayList<>();
+        config.getMix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+
+        List<Operation> plan = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            plan.add(weighted.get(random.nextInt(weighted.size())));
+        }
+        return plan;
+    }
+
+    private void seed(int approvals) throws IOException, InterruptedException {
+        long run = System.currentTimeMillis();
+        for (int i = 0; i < config.getUsers(); i++) {
+            userIds.add(client.sendForId(client.createUser("user" + i, "load" + run + "." + i + "@mail.ru")));
+        }
+        for (int i = 0; i < config.getItems(); i++) {
+            int ownerId = userIds.get(i % userIds.size());
+            String description = "description " + i + (i % 10 == 0 ? " drill" : "") + (i % 7 == 0 ? " saw" : "");
+            itemIds.add(client.sendForId(client.createItem(ownerId, "item" + i, description)));
+            itemOwners.add(ownerId);
+        }
+        for (int i = 0; i < approvals; i++) {
+            int item = random.nextInt(itemIds.size());
+            int bookingId = client.sendForId(createBooking(item));
+            pendingBookings.add(new PendingBooking(bookingId, itemOwners.get(item)));
+        }
+    }
+
+    private List<PlannedRequest> toRequests(List<Operation> plan) {
+        List<PlannedRequest> requests = new ArrayList<>(plan.size());
+        for (Operation operation : plan) {
+            requests.add(new PlannedRequest(operation, toRequest(operation)));
+        }
+        return requests;
+    }
+
+    private HttpRequest toRequest(Operation operation) {
+        int item = random.nextInt(itemIds.size());
+        switch (operation) {
+            case CREATE_BOOKING:
+                return createBooking(item);
+            case APPROVE_BOOKING:
+                PendingBooking booking = pendingBookings.get(nextPending++);
+                return client.approveBooking(booking.getOwnerId(), booking.getBookingId());
+            case LIST_BOOKINGS:
+                return client.listBookings(userIds.get(random.nextInt(userIds.size())), random.nextBoolean(),
+                        STATES[random.nextInt(STATES.length)]);
+            case SEARCH_ITEMS:
+                return client.searchItems(SEARCH_TEXTS[random.nextInt(SEARCH_TEXTS.length)]);
+            default:
+                return client.viewItem(itemOwners.get(item), itemIds.get(item));
+        }
+    }
+
+    // у каждого бронирования свой интервал, поэтому пересечений и отказов из-за занятости нет
+    private HttpRequest createBooking(int item) {
+        int ownerIndex = userIds.indexOf(itemOwners.get(item));
+        int bookerIndex = (ownerIndex + 1 + random.nextInt(userIds.size() - 1)) % userIds.size();
+        LocalDateTime start = slotBase.plusHours(2L * nextSlot++);
+        return client.createBooking(userIds.get(bookerIndex), itemIds.get(item), start, start.plusHours(1));
+    }
+
+    private void drive(List<PlannedRequest> requests) throws InterruptedException {
+        drive(requests, new EnumMap<>(Operation.class));
+    }
+
+    // Открытая модель нагрузки: запросы уходят по расписанию независимо от ответов,
+    // а задержка считается от запланированного момента отправки
+    private long drive(List<PlannedRequest> requests, Map<Operation, LatencyRecorder> recorders)
+            throws InterruptedException {
+        config.getMix().keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder()));
+        long interval = (long) (1e9 / config.getRate());
+        long start = System.nanoTime();
+        long maxLag = 0;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            long intended = start + i * interval;
+            long delay;
+            while ((delay = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            maxLag = Math.max(maxLag, -delay);
+
+            PlannedRequest request = requests.get(i);
+            LatencyRecorder recorder = recorders.get(request.getOperation());
+            inFlight.add(client.sendAsync(request.getRequest())
+                    .whenComplete((response, e) -> recorder.record(System.nanoTime() - intended,
+                            e == null && response.statusCode() < 400)));
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0]))
+                    .exceptionally(e -> null)
+                    .get(config.getTimeout().toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            throw new IllegalStateException("Не дождались завершения запросов", e);
+        }
+        return maxLag;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class PendingBooking {
+        private int bookingId;
+        private int ownerId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class PlannedRequest {
+        private Operation operation;
+        private HttpRequest request;
+    }
+}
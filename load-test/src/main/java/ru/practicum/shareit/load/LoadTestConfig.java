@@ -0,0 +1,114 @@
+package ru.practicum.shareit.load;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+public class LoadTestConfig {
+    private Path serverJar;
+    private Path gatewayJar;
+    private Path result;
+    private Path logDir = Path.of(".");
+    private int serverPort = 19090;
+    private int gatewayPort = 18080;
+    private String datasourceUrl;
+    private String datasourceUsername;
+    private String datasourcePassword;
+    private double rate = 100;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration timeout = Duration.ofSeconds(10);
+    private long seed = 42;
+    private int users = 50;
+    private int items = 500;
+    private Map<Operation, Integer> mix = parseMix("create:10,approve:10,list:40,search:20,view:20");
+
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Аргумент должен иметь вид --name=value: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "server-jar":
+                    config.setServerJar(Path.of(value));
+                    break;
+                case "gateway-jar":
+                    config.setGatewayJar(Path.of(value));
+                    break;
+                case "result":
+                    config.setResult(Path.of(value));
+                    break;
+                case "log-dir":
+                    config.setLogDir(Path.of(value));
+                    break;
+                case "server-port":
+                    config.setServerPort(Integer.parseInt(value));
+                    break;
+                case "gateway-port":
+                    config.setGatewayPort(Integer.parseInt(value));
+                    break;
+                case "datasource-url":
+                    config.setDatasourceUrl(value);
+                    break;
+                case "datasource-username":
+                    config.setDatasourceUsername(value);
+                    break;
+                case "datasource-password":
+                    config.setDatasourcePassword(value);
+                    break;
+                case "rate":
+                    config.setRate(Double.parseDouble(value));
+                    break;
+                case "warmup":
+                    config.setWarmup(Duration.ofSeconds(Long.parseLong(value)));
+                    break;
+                case "duration":
+                    config.setDuration(Duration.ofSeconds(Long.parseLong(value)));
+                    break;
+                case "timeout":
+                    config.setTimeout(Duration.ofSeconds(Long.parseLong(value)));
+                    break;
+                case "seed":
+                    config.setSeed(Long.parseLong(value));
+                    break;
+                case "users":
+                    config.setUsers(Integer.parseInt(value));
+                    break;
+                case "items":
+                    config.setItems(Integer.parseInt(value));
+                    break;
+                case "mix":
+                    config.setMix(parseMix(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Неизвестный аргумент: " + name);
+            }
+        }
+        if (config.getServerJar() == null || config.getGatewayJar() == null) {
+            throw new IllegalArgumentException("Не указаны --server-jar и --gateway-jar");
+        }
+        if (config.getUsers() < 2) {
+            throw new IllegalArgumentException("Для бронирований нужно хотя бы два пользователя");
+        }
+        return config;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Operation.fromKey(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+@Getter
+@AllArgsConstructor
+public enum Operation {
+    CREATE_BOOKING("create"),
+    APPROVE_BOOKING("approve"),
+    LIST_BOOKINGS("list"),
+    SEARCH_ITEMS("search"),
+    VIEW_ITEM("view");
+
+    private final String key;
+
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестная операция: " + key));
+    }
+}
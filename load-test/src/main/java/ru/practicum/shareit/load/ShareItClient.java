@@ -0,0 +1,109 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class ShareItClient {
+    private static final String USER_ID = "X-Sharer-User-Id";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public ShareItClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    public HttpRequest createUser(String name, String email) {
+        return post("/users", null, Map.of("name", name, "email", email));
+    }
+
+    public HttpRequest createItem(int ownerId, String name, String description) {
+        return post("/items", ownerId, Map.of("name", name, "description", description, "available", true));
+    }
+
+    public HttpRequest createBooking(int bookerId, int itemId, LocalDateTime start, LocalDateTime end) {
+        return post("/bookings", bookerId, Map.of("itemId", itemId, "start", start, "end", end));
+    }
+
+    public HttpRequest approveBooking(int ownerId, int bookingId) {
+        return request("/bookings/" + bookingId + "?approved=true", ownerId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    public HttpRequest listBookings(int userId, boolean owner, String state) {
+        return request((owner ? "/bookings/owner" : "/bookings") + "?state=" + state, userId).GET().build();
+    }
+
+    public HttpRequest searchItems(String text) {
+        return request("/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8), null).GET().build();
+    }
+
+    public HttpRequest viewItem(int userId, int itemId) {
+        return request("/items/" + itemId, userId).GET().build();
+    }
+
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    public int sendForId(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Ошибка подготовки данных: " + request.uri() + " -> "
+                    + response.statusCode() + " " + response.body());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("id").asInt();
+    }
+
+    public String toJson(Object value) throws JsonProcessingException {
+        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(value);
+    }
+
+    private HttpRequest post(String path, Integer userId, Object body) {
+        try {
+            return request(path, userId)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, Integer userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            builder.header(USER_ID, String.valueOf(userId));
+        }
+        return builder;
+    }
+}
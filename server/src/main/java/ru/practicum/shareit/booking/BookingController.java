@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,11 +12,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.budget.StatementBudget;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -27,6 +32,7 @@ import java.util.List;
 public class BookingController {
     private final BookingService bookingService;
     private static final String USER_ID = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
 
     @Autowired
     public BookingController(BookingService bookingService) {
@@ -35,14 +41,26 @@ public class BookingController {
 
     @ResponseBody
     @PostMapping()
+    @StatementBudget(8)
     public BookingDto addBooking(@RequestBody BookingDtoInput bookingDto,
                                  @RequestHeader(USER_ID) int bookerId) {
         log.info("Получен POST-запрос к эндпоинту /bookings на добавление бронирования.");
         return bookingService.createBooking(bookingDto, bookerId);
     }
 
+    @ResponseBody
+    @PostMapping("/bulk")
+    @StatementBudget(7)
+    public List<BookingResultDto> addBookings(@RequestBody List<BookingDtoInput> bookingDtos,
+                                              @RequestHeader(USER_ID) int bookerId) {
+        log.info("Получен POST-запрос к эндпоинту /bookings/bulk на добавление {} бронирований.",
+                bookingDtos.size());
+        return bookingService.createBookings(bookingDtos, bookerId);
+    }
+
     @ResponseBody
     @PatchMapping("/{bookingId}")
+    @StatementBudget(5)
     public BookingDto updateBooking(@PathVariable int bookingId,
                                     @RequestHeader(USER_ID) int ownerId,
                                     @RequestParam Boolean approved) {
@@ -51,28 +69,49 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
+    @StatementBudget(2)
     public BookingDto getBookingById(@PathVariable int bookingId,
-                                  @RequestHeader(USER_ID) int userId) {
+                                     @RequestHeader(USER_ID) int userId,
+                                     WebRequest request) {
         log.info("Получен GET-запрос к эндпоинту /bookings/{bookingId} на получение бронирования по id.");
-        return bookingService.getBookingById(bookingId, userId);
+        return bookingService.getBookingById(bookingId, userId).getIfModified(request);
     }
 
     @GetMapping()
-    public List<BookingDto> getBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
-                                        @RequestHeader(USER_ID) int userId,
-                                        @RequestParam(defaultValue = "0") int from,
-                                        @RequestParam(defaultValue = "10") int size) {
+    @StatementBudget(2)
+    public ResponseEntity<List<BookingDto>> getBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                        @RequestHeader(USER_ID) int userId,
+                                                        @RequestParam(defaultValue = "0") int from,
+                                                        @RequestParam(defaultValue = "10") int size,
+                                                        @RequestParam(required = false) String cursor) {
         log.info("Получен GET-запрос к эндпоинту /bookings на получение всех бронирований пользователя");
-        return bookingService.getBookings(state, userId, from, size);
+        List<BookingDto> bookings = cursor == null
+                ? bookingService.getBookings(state, userId, from, size)
+                : bookingService.getBookingsAfter(state, userId, cursor, size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsOwner(@RequestParam(name = "state", defaultValue = "ALL") String state,
-                                             @RequestHeader(USER_ID) int userId,
-                                             @RequestParam(defaultValue = "0") int from,
-                                             @RequestParam(defaultValue = "10") int size) {
+    @StatementBudget(2)
+    public ResponseEntity<List<BookingDto>> getBookingsOwner(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                             @RequestHeader(USER_ID) int userId,
+                                                             @RequestParam(defaultValue = "0") int from,
+                                                             @RequestParam(defaultValue = "10") int size,
+                                                             @RequestParam(required = false) String cursor) {
         log.info("Получен GET-запрос к эндпоинту /bookings/owner " +
                 "на получение бронирований для всех вещей пользователя");
-        return bookingService.getBookingsOwner(state, userId, from, size);
+        List<BookingDto> bookings = cursor == null
+                ? bookingService.getBookingsOwner(state, userId, from, size)
+                : bookingService.getBookingsOwnerAfter(state, userId, cursor, size);
+        return withNextCursor(bookings, size);
+    }
+
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            BookingDto last = bookings.get(bookings.size() - 1);
+            response.header(NEXT_CURSOR, new KeysetCursor(last.getStart(), last.getId()).encode());
+        }
+        return response.body(bookings);
     }
 }
@@ -17,16 +17,27 @@ import javax.persistence.EnumType;
 import javax.persistence.ManyToOne;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings", schema = "public")
+@NamedEntityGraph(name = Booking.WITH_DETAILS,
+        attributeNodes = {@NamedAttributeNode(value = "item", subgraph = "item"), @NamedAttributeNode("booker")},
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("owner")))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Booking {
+    public static final String WITH_DETAILS = "Booking.withDetails";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private int id;
 
     @Column(name = "start_date")
@@ -35,14 +46,21 @@ public class Booking {
     @Column(name = "end_date")
     private LocalDateTime end;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "item_id")
     private Item item;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "booker_id")
     private User booker;
 
     @Enumerated(EnumType.STRING)
     private Status status;
+
+    @Version
+    private int version;
+
+    public Booking(int id, LocalDateTime start, LocalDateTime end, Item item, User booker, Status status) {
+        this(id, start, end, item, booker, status, 0);
+    }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingKeysetRepository {
+    List<Booking> findBookerBookingsAfter(int bookerId, State state, LocalDateTime now,
+                                          KeysetCursor cursor, int size);
+
+    List<Booking> findOwnerBookingsAfter(int ownerId, State state, LocalDateTime now,
+                                         KeysetCursor cursor, int size);
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingKeysetRepositoryImpl implements BookingKeysetRepository {
+    private static final String SELECT = BookingRepository.SELECT_DETAILS + "WHERE ";
+    private static final String KEYSET = " AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId))";
+    private static final String ORDER = " ORDER BY b.start DESC, b.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findBookerBookingsAfter(int bookerId, State state, LocalDateTime now,
+                                                 KeysetCursor cursor, int size) {
+        return find("b.booker.id = :userId", bookerId, state, now, cursor, size);
+    }
+
+    @Override
+    public List<Booking> findOwnerBookingsAfter(int ownerId, State state, LocalDateTime now,
+                                                KeysetCursor cursor, int size) {
+        return find("i.owner.id = :userId", ownerId, state, now, cursor, size);
+    }
+
+    private List<Booking> find(String userCondition, int userId, State state, LocalDateTime now,
+                               KeysetCursor cursor, int size) {
+        TypedQuery<Booking> query = entityManager.createQuery(SELECT + userCondition + stateCondition(state)
+                + KEYSET + ORDER, Booking.class);
+        query.setParameter("userId", userId);
+        query.setParameter("cursorStart", cursor.getTime());
+        query.setParameter("cursorId", cursor.getId());
+        switch (state) {
+            case CURRENT:
+            case PAST:
+            case FUTURE:
+                query.setParameter("now", now);
+                break;
+            case WAITING:
+                query.setParameter("status", Status.WAITING);
+                break;
+            case REJECTED:
+                query.setParameter("status", Status.REJECTED);
+                break;
+            default:
+                break;
+        }
+        return query.setMaxResults(size).getResultList();
+    }
+
+    private static String stateCondition(State state) {
+        switch (state) {
+            case CURRENT:
+                return " AND b.start < :now AND b.end > :now";
+            case PAST:
+                return " AND b.end < :now";
+            case FUTURE:
+                return " AND b.start > :now";
+            case WAITING:
+            case REJECTED:
+                return " AND b.status = :status";
+            default:
+                return "";
+        }
+    }
+}
@@ -1,40 +1,91 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    Booking findFirstByItemIdAndStartIsBeforeAndStatusOrderByStartDesc(int itemId, LocalDateTime start, Status status);
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingKeysetRepository {
+    String SELECT_DETAILS = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH i.owner JOIN FETCH b.booker ";
 
-    Booking findFirstByItemIdAndStartIsAfterAndStatusOrderByStartAsc(int itemId, LocalDateTime start, Status status);
+    @Override
+    @EntityGraph(Booking.WITH_DETAILS)
+    Optional<Booking> findById(Integer id);
+
+    @Query(value = "SELECT * FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id " +
+            "ORDER BY b.start_date DESC) AS rn FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.start_date < :now AND b.status = :status) AS last_bookings " +
+            "WHERE last_bookings.rn = 1", nativeQuery = true)
+    List<Booking> findLastBookingsByItemIds(@Param("itemIds") Collection<Integer> itemIds,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("status") String status);
+
+    @Query(value = "SELECT * FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id " +
+            "ORDER BY b.start_date ASC) AS rn FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.start_date > :now AND b.status = :status) AS next_bookings " +
+            "WHERE next_bookings.rn = 1", nativeQuery = true)
+    List<Booking> findNextBookingsByItemIds(@Param("itemIds") Collection<Integer> itemIds,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("status") String status);
 
     Booking findFirstByItemIdAndBookerIdAndEndIsBeforeAndStatus(int itemId, int userId,
                                                                 LocalDateTime end, Status status);
 
-    Page<Booking> findByBookerId(int bookerId, Pageable page);
+    boolean existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(int itemId, Collection<Status> statuses,
+                                                                   LocalDateTime end, LocalDateTime start);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status IN :statuses " +
+            "AND b.start < :end AND b.end > :start")
+    List<Booking> findOverlapping(@Param("itemIds") Collection<Integer> itemIds,
+                                  @Param("statuses") Collection<Status> statuses,
+                                  @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(SELECT_DETAILS + "WHERE b.booker.id = :bookerId")
+    Slice<Booking> findByBookerId(@Param("bookerId") int bookerId, Pageable page);
 
-    Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(int bookerId, LocalDateTime start,
-                                                              LocalDateTime end, Pageable page);
+    @Query(SELECT_DETAILS + "WHERE b.booker.id = :bookerId AND b.start < :start AND b.end > :end")
+    Slice<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(@Param("bookerId") int bookerId,
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("end") LocalDateTime end, Pageable page);
 
-    Page<Booking> findByBookerIdAndEndIsBefore(int bookerId, LocalDateTime end, Pageable page);
+    @Query(SELECT_DETAILS + "WHERE b.booker.id = :bookerId AND b.end < :end")
+    Slice<Booking> findByBookerIdAndEndIsBefore(@Param("bookerId") int bookerId, @Param("end") LocalDateTime end,
+                                                Pageable page);
 
-    Page<Booking> findByBookerIdAndStartIsAfter(int bookerId, LocalDateTime start, Pageable page);
+    @Query(SELECT_DETAILS + "WHERE b.booker.id = :bookerId AND b.start > :start")
+    Slice<Booking> findByBookerIdAndStartIsAfter(@Param("bookerId") int bookerId,
+                                                 @Param("start") LocalDateTime start, Pageable page);
 
-    Page<Booking> findByBookerIdAndStatus(int bookerId, Status status, Pageable page);
+    @Query(SELECT_DETAILS + "WHERE b.booker.id = :bookerId AND b.status = :status")
+    Slice<Booking> findByBookerIdAndStatus(@Param("bookerId") int bookerId, @Param("status") Status status,
+                                           Pageable page);
 
-    Page<Booking> findByItemOwnerId(int ownerId, Pageable page);
+    @Query(SELECT_DETAILS + "WHERE i.owner.id = :ownerId")
+    Slice<Booking> findByItemOwnerId(@Param("ownerId") int ownerId, Pageable page);
 
-    Page<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(int ownerId, LocalDateTime start,
-                                                                 LocalDateTime end, Pageable page);
+    @Query(SELECT_DETAILS + "WHERE i.owner.id = :ownerId AND b.start < :start AND b.end > :end")
+    Slice<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(@Param("ownerId") int ownerId,
+                                                                  @Param("start") LocalDateTime start,
+                                                                  @Param("end") LocalDateTime end, Pageable page);
 
-    Page<Booking> findByItemOwnerIdAndEndIsBefore(int ownerId, LocalDateTime end, Pageable page);
+    @Query(SELECT_DETAILS + "WHERE i.owner.id = :ownerId AND b.end < :end")
+    Slice<Booking> findByItemOwnerIdAndEndIsBefore(@Param("ownerId") int ownerId, @Param("end") LocalDateTime end,
+                                                   Pageable page);
 
-    Page<Booking> findByItemOwnerIdAndStartIsAfter(int ownerId, LocalDateTime start, Pageable page);
+    @Query(SELECT_DETAILS + "WHERE i.owner.id = :ownerId AND b.start > :start")
+    Slice<Booking> findByItemOwnerIdAndStartIsAfter(@Param("ownerId") int ownerId,
+                                                    @Param("start") LocalDateTime start, Pageable page);
 
-    Page<Booking> findByItemOwnerIdAndStatus(int ownerId, Status status, Pageable page);
+    @Query(SELECT_DETAILS + "WHERE i.owner.id = :ownerId AND b.status = :status")
+    Slice<Booking> findByItemOwnerIdAndStatus(@Param("ownerId") int ownerId, @Param("status") Status status,
+                                              Pageable page);
 }
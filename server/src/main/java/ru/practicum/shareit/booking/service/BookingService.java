@@ -2,17 +2,25 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
+import ru.practicum.shareit.etag.Versioned;
 
 import java.util.List;
 
 public interface BookingService {
     BookingDto createBooking(BookingDtoInput bookingDto, int bookerId);
 
+    List<BookingResultDto> createBookings(List<BookingDtoInput> bookingDtos, int bookerId);
+
     BookingDto updateBooking(int bookingId, int ownerId, Boolean approved);
 
-    BookingDto getBookingById(int bookingId, int userId);
+    Versioned<BookingDto> getBookingById(int bookingId, int userId);
 
     List<BookingDto> getBookings(String state, int userId, int from, int size);
 
     List<BookingDto> getBookingsOwner(String state, int userId, int from, int size);
+
+    List<BookingDto> getBookingsAfter(String state, int userId, String cursor, int size);
+
+    List<BookingDto> getBookingsOwnerAfter(String state, int userId, String cursor, int size);
 }
@@ -2,28 +2,48 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.snapshot.BookingSnapshotStore;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.etag.Versioned;
 import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.invalidation.CacheInvalidationBus;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.cache.CachedUser;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,17 +51,27 @@ import java.util.stream.Collectors;
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemRepository itemRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final BookingSnapshotStore snapshotStore;
+    private static final Set<Status> ACTIVE_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+    public static final int MAX_BULK_SIZE = 50;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository, UserRepository userRepository,
-                              ItemRepository itemRepository) {
+                              UserCache userCache, ItemRepository itemRepository, CacheInvalidationBus invalidationBus,
+                              BookingSnapshotStore snapshotStore) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
+        this.userCache = userCache;
         this.itemRepository = itemRepository;
+        this.invalidationBus = invalidationBus;
+        this.snapshotStore = snapshotStore;
     }
 
     @Override
+    @Transactional
     public BookingDto createBooking(BookingDtoInput bookingDto, int bookerId) {
         LocalDateTime start = bookingDto.getStart();
         LocalDateTime end = bookingDto.getEnd();
@@ -51,10 +81,11 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException(warning);
         }
 
-        User user = findUserById(bookerId);
+        User user = userRepository.findById(bookerId)
+                .orElseThrow(() -> new UserNotFoundException("Невозможно найти. Такого пользователя нет."));
         int itemId = bookingDto.getItemId();
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new ItemNotFoundException("Невозможно получить. Такой вещи нет."));;
+        Item item = itemRepository.findLockedById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Невозможно получить. Такой вещи нет."));
         boolean available = item.getAvailable();
 
         if (bookerId == item.getOwner().getId()) {
@@ -68,9 +99,64 @@ public class BookingServiceImpl implements BookingService {
             log.warn(warning);
             throw new ValidationException(warning);
         }
+
+        if (bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(itemId, ACTIVE_STATUSES,
+                end, start)) {
+            String warning = "Вещь с id = " + itemId + " уже забронирована на эти даты";
+            log.warn(warning);
+            throw new ValidationException(warning);
+        }
         Booking booking = BookingMapper.toBooking(bookingDto, item, user);
+        Booking savedBooking = bookingRepository.save(booking);
+        invalidationBus.publish(CacheRegion.BOOKING, itemId);
+
+        return BookingMapper.toBookingDto(savedBooking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingResultDto> createBookings(List<BookingDtoInput> bookingDtos, int bookerId) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BULK_SIZE) {
+            String warning = "В пакете должно быть от 1 до " + MAX_BULK_SIZE + " бронирований.";
+            log.warn(warning);
+            throw new ValidationException(warning);
+        }
+
+        Set<Integer> itemIds = bookingDtos.stream()
+                .map(BookingDtoInput::getItemId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Integer, Item> items = itemRepository.findLockedAllByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        Set<Integer> userIds = new HashSet<>();
+        userIds.add(bookerId);
+        items.values().forEach(item -> userIds.add(item.getOwner().getId()));
+        Map<Integer, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        User booker = users.get(bookerId);
+        if (booker == null) {
+            throw new UserNotFoundException("Невозможно найти. Такого пользователя нет.");
+        }
+
+        Map<Integer, List<Booking>> taken = findTaken(items.keySet(), bookingDtos);
+        List<BookingResultDto> results = new ArrayList<>();
+        Set<Integer> bookedItemIds = new LinkedHashSet<>();
+        for (BookingDtoInput bookingDto : bookingDtos) {
+            Item item = items.get(bookingDto.getItemId());
+            String warning = validate(bookingDto, item, bookerId, taken);
+            if (warning != null) {
+                log.warn(warning);
+                results.add(new BookingResultDto(null, warning));
+                continue;
+            }
+            Booking booking = bookingRepository.save(BookingMapper.toBooking(bookingDto, item, booker));
+            taken.computeIfAbsent(item.getId(), id -> new ArrayList<>()).add(booking);
+            bookedItemIds.add(item.getId());
+            results.add(new BookingResultDto(BookingMapper.toBookingDto(booking), null));
+        }
+        invalidationBus.publishAll(CacheRegion.BOOKING, bookedItemIds);
+
+        return results;
     }
 
     @Override
@@ -98,11 +184,14 @@ public class BookingServiceImpl implements BookingService {
             booking.setStatus(Status.REJECTED);
         }
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        snapshotStore.evict(booking.getItem().getId());
+        invalidationBus.publish(CacheRegion.BOOKING, booking.getItem().getId());
+        return BookingMapper.toBookingDto(savedBooking);
     }
 
     @Override
-    public BookingDto getBookingById(int bookingId, int userId) {
+    public Versioned<BookingDto> getBookingById(int bookingId, int userId) {
         findUserById(userId);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Невозможно получить. Такого бронирования нет."));
@@ -110,7 +199,10 @@ public class BookingServiceImpl implements BookingService {
         int ownerId = booking.getItem().getOwner().getId();
 
         if (bookerId == userId || ownerId == userId) {
-            return BookingMapper.toBookingDto(booking);
+            User booker = booking.getBooker();
+            String tag = Versioned.tag("booking", booking.getId(), booking.getVersion(),
+                    booking.getItem().getVersion(), booker.getId(), booker.getName(), booker.getEmail());
+            return new Versioned<>(tag, () -> BookingMapper.toBookingDto(booking));
         } else {
             String warning = "Просмотр бронирования доступен только забронировавшему вещь или ее владельцу.";
             log.warn(warning);
@@ -121,9 +213,9 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> getBookings(String state, int userId, int from, int size) {
         findUserById(userId);
-        Page<Booking> bookings;
+        Slice<Booking> bookings;
         State st = findState(state);
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
+        Sort sort = Sort.by(Sort.Direction.DESC, "start", "id");
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
 
         switch (st) {
@@ -163,9 +255,9 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> getBookingsOwner(String state, int userId, int from, int size) {
         findUserById(userId);
-        Page<Booking> bookings;
+        Slice<Booking> bookings;
         State st = findState(state);
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
+        Sort sort = Sort.by(Sort.Direction.DESC, "start", "id");
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, sort);
 
         switch (st) {
@@ -201,9 +293,84 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
-    private User findUserById(int id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Невозможно найти. Такого пользователя нет."));
+    @Override
+    public List<BookingDto> getBookingsAfter(String state, int userId, String cursor, int size) {
+        findUserById(userId);
+        State st = findKnownState(state);
+        return bookingRepository.findBookerBookingsAfter(userId, st, LocalDateTime.now(),
+                        KeysetCursor.decode(cursor), size)
+                .stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingDto> getBookingsOwnerAfter(String state, int userId, String cursor, int size) {
+        findUserById(userId);
+        State st = findKnownState(state);
+        return bookingRepository.findOwnerBookingsAfter(userId, st, LocalDateTime.now(),
+                        KeysetCursor.decode(cursor), size)
+                .stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, List<Booking>> findTaken(Set<Integer> itemIds, List<BookingDtoInput> bookingDtos) {
+        Map<Integer, List<Booking>> taken = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return taken;
+        }
+        LocalDateTime start = bookingDtos.stream()
+                .map(BookingDtoInput::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = bookingDtos.stream()
+                .map(BookingDtoInput::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        for (Booking booking : bookingRepository.findOverlapping(itemIds, ACTIVE_STATUSES, start, end)) {
+            taken.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>()).add(booking);
+        }
+        return taken;
+    }
+
+    private static String validate(BookingDtoInput bookingDto, Item item, int bookerId,
+                                   Map<Integer, List<Booking>> taken) {
+        LocalDateTime start = bookingDto.getStart();
+        LocalDateTime end = bookingDto.getEnd();
+        int itemId = bookingDto.getItemId();
+        if (start.isAfter(end) || start.isEqual(end)) {
+            return "Время окончания бронирования должно быть после начала.";
+        }
+        if (item == null) {
+            return "Невозможно получить. Такой вещи нет.";
+        }
+        if (bookerId == item.getOwner().getId()) {
+            return "Владелец не может забронировать свою же вещь.";
+        }
+        if (!item.getAvailable()) {
+            return "Вещь с id = " + itemId + " недоступна для бронирования";
+        }
+        boolean overlaps = taken.getOrDefault(itemId, Collections.emptyList()).stream()
+                .anyMatch(booking -> booking.getStart().isBefore(end) && booking.getEnd().isAfter(start));
+        if (overlaps) {
+            return "Вещь с id = " + itemId + " уже забронирована на эти даты";
+        }
+        return null;
+    }
+
+    private CachedUser findUserById(int id) {
+        return userCache.get(id);
+    }
+
+    private State findKnownState(String line) {
+        State st = findState(line);
+        if (st == State.UNKNOWN) {
+            String warning = "Unknown state: ";
+            log.warn(warning);
+            throw new ValidationException(warning + line);
+        }
+        return st;
     }
 
     private State findState(String line) {
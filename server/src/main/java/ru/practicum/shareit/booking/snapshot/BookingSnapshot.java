@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.snapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+
+@Data
+@AllArgsConstructor
+public class BookingSnapshot {
+    private BookingDtoShort lastBooking;
+
+    private BookingDtoShort nextBooking;
+}
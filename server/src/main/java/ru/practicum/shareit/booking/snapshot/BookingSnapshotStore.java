@@ -0,0 +1,162 @@
+package ru.practicum.shareit.booking.snapshot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.invalidation.CacheInvalidationEvent;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class BookingSnapshotStore {
+    private final BookingRepository bookingRepository;
+    private final Cache<Integer, BookingSnapshot> snapshots;
+    private final NavigableSet<Due> due = new ConcurrentSkipListSet<>(Comparator.comparing(Due::getStart)
+            .thenComparingInt(Due::getItemId));
+    private final Map<Integer, Object> loads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BookingSnapshotStore(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.snapshot.max-size}") long maxSize) {
+        this.bookingRepository = bookingRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .<Integer, BookingSnapshot>evictionListener((itemId, snapshot, cause) -> unschedule(itemId, snapshot))
+                .build();
+    }
+
+    public BookingSnapshot get(int itemId) {
+        BookingSnapshot snapshot = snapshots.getIfPresent(itemId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return load(List.of(itemId)).get(itemId);
+    }
+
+    public Map<Integer, BookingSnapshot> getAll(Collection<Integer> itemIds) {
+        Map<Integer, BookingSnapshot> result = new HashMap<>(snapshots.getAllPresent(itemIds));
+        List<Integer> missing = itemIds.stream()
+                .filter(itemId -> !result.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            result.putAll(load(missing));
+        }
+        return result;
+    }
+
+    public void evict(int itemId) {
+        loads.remove(itemId);
+        snapshots.asMap().computeIfPresent(itemId, (id, snapshot) -> {
+            unschedule(id, snapshot);
+            return null;
+        });
+    }
+
+    public void clear() {
+        new ArrayList<>(snapshots.asMap().keySet()).forEach(this::evict);
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (event.getRegion() == CacheRegion.BOOKING || event.getRegion() == CacheRegion.ITEM) {
+            evict(event.getEntityId());
+        } else if (event.getRegion() == CacheRegion.OWNER) {
+            clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.snapshot.rollover-interval}")
+    public void rollover() {
+        List<Integer> started = new ArrayList<>();
+        for (Due entry : due.headSet(new Due(LocalDateTime.now(), Integer.MAX_VALUE), true)) {
+            if (due.remove(entry)) {
+                started.add(entry.getItemId());
+            }
+        }
+        if (!started.isEmpty()) {
+            load(started);
+            log.debug("Обновлены снимки бронирований вещей: {}.", started);
+        }
+    }
+
+    private Map<Integer, BookingSnapshot> load(Collection<Integer> itemIds) {
+        Map<Integer, Object> tokens = new HashMap<>();
+        itemIds.forEach(itemId -> {
+            Object token = new Object();
+            loads.put(itemId, token);
+            tokens.put(itemId, token);
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, BookingDtoShort> lastBookings = bookingRepository
+                .findLastBookingsByItemIds(itemIds, now, Status.APPROVED.name())
+                .stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), BookingMapper::toBookingDtoShort));
+        Map<Integer, BookingDtoShort> nextBookings = bookingRepository
+                .findNextBookingsByItemIds(itemIds, now, Status.APPROVED.name())
+                .stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), BookingMapper::toBookingDtoShort));
+
+        Map<Integer, BookingSnapshot> loaded = new HashMap<>();
+        itemIds.forEach(itemId -> loaded.put(itemId,
+                new BookingSnapshot(lastBookings.get(itemId), nextBookings.get(itemId))));
+
+        // снимок сохраняется, только если бронирования вещи не менялись во время чтения
+        loaded.forEach((itemId, snapshot) -> loads.computeIfPresent(itemId, (id, token) -> {
+            if (token != tokens.get(id)) {
+                return token;
+            }
+            snapshots.asMap().compute(id, (key, previous) -> {
+                unschedule(key, previous);
+                schedule(key, snapshot);
+                return snapshot;
+            });
+            return null;
+        }));
+        return loaded;
+    }
+
+    private void schedule(int itemId, BookingSnapshot snapshot) {
+        if (snapshot.getNextBooking() != null) {
+            due.add(new Due(snapshot.getNextBooking().getStart(), itemId));
+        }
+    }
+
+    private void unschedule(int itemId, @Nullable BookingSnapshot snapshot) {
+        if (snapshot != null && snapshot.getNextBooking() != null) {
+            due.remove(new Due(snapshot.getNextBooking().getStart(), itemId));
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Due {
+        private final LocalDateTime start;
+
+        private final int itemId;
+    }
+}
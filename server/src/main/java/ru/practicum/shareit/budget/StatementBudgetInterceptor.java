@@ -0,0 +1,117 @@
+package ru.practicum.shareit.budget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+    public static final String STATS_ATTRIBUTE = StatementBudgetInterceptor.class.getName() + ".stats";
+    public static final String BUDGET_ATTRIBUTE = StatementBudgetInterceptor.class.getName() + ".budget";
+    public static final String STATEMENTS = "shareit.http.statements";
+    public static final String DB_TIME = "shareit.http.db";
+    public static final String OVER_BUDGET = "shareit.http.statements.over.budget";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    public StatementBudgetInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            StatementStats.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod)) {
+            return;
+        }
+        StatementStats stats = StatementStats.end();
+        if (stats == null) {
+            return;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        if (budget != null) {
+            request.setAttribute(BUDGET_ATTRIBUTE, budget.value());
+        }
+
+        EndpointMeters endpointMeters = meters(handlerMethod.getMethod(), request);
+        if (endpointMeters != null) {
+            endpointMeters.statements.record(stats.getStatements());
+            endpointMeters.dbTime.record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (budget != null && stats.getStatements() > budget.value()) {
+            log.warn("Запрос {} {} выполнил {} SQL-выражений при бюджете {}.", request.getMethod(),
+                    request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), stats.getStatements(),
+                    budget.value());
+            if (endpointMeters != null) {
+                endpointMeters.overBudget.increment();
+            }
+        } else if (log.isDebugEnabled()) {
+            log.debug("Запрос {} {} выполнил {} SQL-выражений за {} мкс.", request.getMethod(),
+                    request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), stats.getStatements(),
+                    TimeUnit.NANOSECONDS.toMicros(stats.getNanos()));
+        }
+    }
+
+    private EndpointMeters meters(Method method, HttpServletRequest request) {
+        EndpointMeters endpointMeters = meters.get(method);
+        if (endpointMeters != null) {
+            return endpointMeters;
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return null;
+        }
+        String httpMethod = request.getMethod();
+        String uri = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        return meters.computeIfAbsent(method, key -> new EndpointMeters(
+                DistributionSummary.builder(STATEMENTS)
+                        .tag("method", httpMethod)
+                        .tag("uri", uri)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(registry),
+                Timer.builder(DB_TIME)
+                        .tag("method", httpMethod)
+                        .tag("uri", uri)
+                        .register(registry),
+                Counter.builder(OVER_BUDGET)
+                        .tag("method", httpMethod)
+                        .tag("uri", uri)
+                        .register(registry)));
+    }
+
+    private static final class EndpointMeters {
+        private final DistributionSummary statements;
+        private final Timer dbTime;
+        private final Counter overBudget;
+
+        private EndpointMeters(DistributionSummary statements, Timer dbTime, Counter overBudget) {
+            this.statements = statements;
+            this.dbTime = dbTime;
+            this.overBudget = overBudget;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.budget;
+
+import org.hibernate.BaseSessionEventListener;
+
+public class StatementCountingListener extends BaseSessionEventListener {
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        StatementStats.record(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        StatementStats.record(System.nanoTime() - executionStart);
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.budget;
+
+import lombok.Getter;
+
+@Getter
+public class StatementStats {
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    public static void begin() {
+        CURRENT.set(new StatementStats());
+    }
+
+    public static StatementStats end() {
+        StatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void record(long executionNanos) {
+        StatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += executionNanos;
+        }
+    }
+}
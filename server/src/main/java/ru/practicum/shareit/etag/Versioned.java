@@ -0,0 +1,53 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Supplier;
+
+public class Versioned<T> {
+    private static final int DIGEST_BYTES = 16;
+
+    private final String tag;
+    private final Supplier<T> body;
+
+    public Versioned(String tag, Supplier<T> body) {
+        this.tag = tag;
+        this.body = body;
+    }
+
+    public static String tag(String type, int id, int version, Object... related) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (Object part : related) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        byte[] hash = digest.digest();
+        StringBuilder tag = new StringBuilder(type).append('-').append(id).append('-').append(version).append('-');
+        for (int i = 0; i < DIGEST_BYTES; i++) {
+            tag.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+        }
+        return tag.toString();
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public T get() {
+        return body.get();
+    }
+
+    @Nullable
+    public T getIfModified(WebRequest request) {
+        return request.checkNotModified(tag) ? null : body.get();
+    }
+}
@@ -7,17 +7,33 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @RestControllerAdvice
 public class ErrorHandler {
+    public static final String ERRORS = "shareit.errors";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+
+    public ErrorHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleUserNotFoundException(final UserNotFoundException e) {
+        count(e, HttpStatus.NOT_FOUND);
         return new ErrorResponse(
                 e.getMessage()
         );
@@ -26,6 +42,7 @@ public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleItemNotFoundException(final ItemNotFoundException e) {
+        count(e, HttpStatus.NOT_FOUND);
         return new ErrorResponse(
                 e.getMessage()
         );
@@ -34,6 +51,7 @@ public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleItemRequestNotFoundException(final ItemRequestNotFoundException e) {
+        count(e, HttpStatus.NOT_FOUND);
         return new ErrorResponse(
                 e.getMessage()
         );
@@ -42,6 +60,7 @@ public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleBookingNotFoundException(final BookingNotFoundException e) {
+        count(e, HttpStatus.NOT_FOUND);
         return new ErrorResponse(
                 e.getMessage()
         );
@@ -50,6 +69,7 @@ public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidationException(final ValidationException e) {
+        count(e, HttpStatus.BAD_REQUEST);
         return new ErrorResponse(
                 e.getMessage()
         );
@@ -58,9 +78,33 @@ public class ErrorHandler {
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleUserAlreadyExistsException(final UserAlreadyExistsException e) {
+        count(e, HttpStatus.CONFLICT);
         return new ErrorResponse(
                 e.getMessage()
         );
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(final OptimisticLockingFailureException e) {
+        count(e, HttpStatus.CONFLICT);
+        return new ErrorResponse(
+                "Данные уже изменены другим запросом, повторите попытку."
+        );
+    }
+
+    private void count(Exception e, HttpStatus status) {
+        Counter counter = counters.get(e.getClass());
+        if (counter == null) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return;
+            }
+            counter = counters.computeIfAbsent(e.getClass(), type -> Counter.builder(ERRORS)
+                    .tag("exception", type.getSimpleName())
+                    .tag("status", String.valueOf(status.value()))
+                    .register(registry));
+        }
+        counter.increment();
+    }
 }
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.invalidation.model.CacheInvalidation;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
+import ru.practicum.shareit.invalidation.repository.CacheInvalidationRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+    private final CacheInvalidationRepository repository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate publishTransaction;
+    private final Duration retention;
+    private final Duration rereadWindow;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<Long, LocalDateTime> applied = new HashMap<>();
+    private LocalDateTime lastPoll;
+
+    @Autowired
+    public CacheInvalidationBus(CacheInvalidationRepository repository, CacheManager cacheManager,
+                                ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                                @Value("${shareit.cache.invalidation.retention}") Duration retention,
+                                @Value("${shareit.cache.invalidation.reread-window}") Duration rereadWindow) {
+        this.repository = repository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.publishTransaction = new TransactionTemplate(transactionManager);
+        this.publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retention = retention;
+        this.rereadWindow = rereadWindow;
+        this.lastPoll = LocalDateTime.now();
+    }
+
+    public void publish(CacheRegion region, int entityId) {
+        publishAll(region, List.of(entityId));
+    }
+
+    // публикуется только после фиксации: иначе соседние узлы перечитают старые данные до их изменения,
+    // а строка получит время создания задолго до фиксации и выпадет из окна перечитывания.
+    // Локальный кэш сбрасывается там же, иначе чтение до фиксации вернёт в него старую строку
+    public void publishAll(CacheRegion region, Collection<Integer> entityIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(region, entityIds);
+            save(region, entityIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(region, entityIds);
+                try {
+                    save(region, entityIds);
+                } catch (DataAccessException e) {
+                    log.error("Не удалось опубликовать инвалидацию кэша {} для {}: {}", region, entityIds,
+                            e.getMessage());
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.cache.invalidation.poll-interval}")
+    public synchronized void poll() {
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = lastPoll.minus(rereadWindow);
+        List<CacheInvalidation> invalidations;
+        try {
+            invalidations = repository.findAllByCreatedGreaterThanEqualOrderById(since);
+        } catch (DataAccessException e) {
+            log.warn("Не удалось получить инвалидации кэша: {}", e.getMessage());
+            return;
+        }
+        for (CacheInvalidation invalidation : invalidations) {
+            if (applied.putIfAbsent(invalidation.getId(), invalidation.getCreated()) == null
+                    && !origin.equals(invalidation.getOrigin())) {
+                apply(invalidation);
+            }
+        }
+        applied.values().removeIf(created -> created.isBefore(since));
+        lastPoll = started;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.cache.invalidation.cleanup-interval}")
+    public void cleanup() {
+        int deleted = repository.deleteAllCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("Удалено устаревших инвалидаций кэша: {}.", deleted);
+        }
+    }
+
+    private void save(CacheRegion region, Collection<Integer> entityIds) {
+        String ids = entityIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        CacheInvalidation invalidation = new CacheInvalidation(0, region, ids, origin, LocalDateTime.now());
+        publishTransaction.executeWithoutResult(status -> repository.save(invalidation));
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        CacheRegion region = invalidation.getRegion();
+        List<Integer> entityIds = Arrays.stream(invalidation.getEntityIds().split(","))
+                .map(Integer::valueOf)
+                .collect(Collectors.toList());
+        evict(region, entityIds);
+        entityIds.forEach(entityId -> eventPublisher.publishEvent(new CacheInvalidationEvent(region, entityId)));
+    }
+
+    private void evict(CacheRegion region, Collection<Integer> entityIds) {
+        Cache cache = region.getCacheName() == null ? null : cacheManager.getCache(region.getCacheName());
+        if (cache != null) {
+            entityIds.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.invalidation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
+
+@Data
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+    private CacheRegion region;
+
+    private int entityId;
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.invalidation.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cache_invalidations", schema = "public")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Enumerated(EnumType.STRING)
+    private CacheRegion region;
+
+    @Column(name = "entity_ids")
+    private String entityIds;
+
+    private String origin;
+
+    private LocalDateTime created;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.invalidation.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.user.cache.UserCache;
+
+@Getter
+@AllArgsConstructor
+public enum CacheRegion {
+    USER(UserCache.CACHE),
+    OWNER(UserCache.CACHE),
+    ITEM(null),
+    BOOKING(null),
+    COMMENT(null);
+
+    private final String cacheName;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.invalidation.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.invalidation.model.CacheInvalidation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+    List<CacheInvalidation> findAllByCreatedGreaterThanEqualOrderById(LocalDateTime created);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.created < :before")
+    int deleteAllCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -11,9 +12,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.budget.StatementBudget;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
@@ -27,6 +31,7 @@ import java.util.List;
 public class ItemController {
     private final ItemService itemService;
     private static final String USER_ID = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
 
     @Autowired
     public ItemController(ItemService itemService) {
@@ -34,13 +39,16 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
+    @StatementBudget(5)
     public ItemDto itemById(@PathVariable int itemId,
-                            @RequestHeader(USER_ID) int userId) {
+                            @RequestHeader(USER_ID) int userId,
+                            WebRequest request) {
         log.info("Получен GET-запрос к эндпоинту /items/{itemId} на получение вещи по id.");
-        return itemService.itemById(itemId, userId);
+        return itemService.itemById(itemId, userId).getIfModified(request);
     }
 
     @GetMapping()
+    @StatementBudget(6)
     public List<ItemDto> allItemsByOwner(@RequestHeader(USER_ID) int ownerId,
                                          @RequestParam(defaultValue = "0") int from,
                                          @RequestParam(defaultValue = "10") int size) {
@@ -49,6 +57,7 @@ public class ItemController {
     }
 
     @GetMapping("/search")
+    @StatementBudget(2)
     public List<ItemDto> searchItem(@RequestParam String text,
                                     @RequestParam(defaultValue = "0") int from,
                                     @RequestParam(defaultValue = "10") int size) {
@@ -58,6 +67,7 @@ public class ItemController {
 
     @ResponseBody
     @PostMapping()
+    @StatementBudget(5)
     public ItemDto createItem(@RequestBody ItemDto itemDto,
                               @RequestHeader(USER_ID) int ownerId) {
         log.info("Получен POST-запрос к эндпоинту /items на добавление вещи.");
@@ -66,6 +76,7 @@ public class ItemController {
 
     @ResponseBody
     @PatchMapping("/{itemId}")
+    @StatementBudget(4)
     public ItemDto updateItem(@RequestBody ItemDto itemDto,
                               @PathVariable int itemId,
                               @RequestHeader(USER_ID) int ownerId) {
@@ -76,10 +87,26 @@ public class ItemController {
 
     @ResponseBody
     @PostMapping("/{itemId}/comment")
+    @StatementBudget(7)
     public CommentDto addComment(@RequestBody CommentDto commentDto,
                                  @PathVariable int itemId,
                                  @RequestHeader(USER_ID) int userId) {
         log.info("Получен POST-запрос к эндпоинту /items/{itemId}/comment на добавление комментария.");
         return itemService.addComment(commentDto, itemId, userId);
     }
+
+    @GetMapping("/{itemId}/comments")
+    @StatementBudget(2)
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable int itemId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен GET-запрос к эндпоинту /items/{itemId}/comments на получение комментариев вещи.");
+        List<CommentDto> comments = itemService.getComments(itemId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!comments.isEmpty() && comments.size() == size) {
+            CommentDto last = comments.get(comments.size() - 1);
+            response.header(NEXT_CURSOR, new KeysetCursor(last.getCreated(), last.getId()).encode());
+        }
+        return response.body(comments);
+    }
 }
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.comment;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.invalidation.CacheInvalidationEvent;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.repository.CommentRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class RecentCommentStore {
+    public static final String CACHE = "comments";
+
+    private final CommentRepository commentRepository;
+    private final Cache cache;
+    private final int size;
+    private long version;
+
+    @Autowired
+    public RecentCommentStore(CommentRepository commentRepository, CacheManager cacheManager,
+                              @Value("${shareit.item.comments.recent}") int size) {
+        this.commentRepository = commentRepository;
+        this.cache = cacheManager.getCache(CACHE);
+        this.size = size;
+    }
+
+    public RecentComments get(int itemId) {
+        RecentComments recent = cache.get(itemId, RecentComments.class);
+        if (recent != null) {
+            return recent;
+        }
+        return load(List.of(itemId)).get(itemId);
+    }
+
+    public Map<Integer, RecentComments> getAll(Collection<Integer> itemIds) {
+        Map<Integer, RecentComments> result = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer itemId : itemIds) {
+            RecentComments recent = cache.get(itemId, RecentComments.class);
+            if (recent != null) {
+                result.put(itemId, recent);
+            } else {
+                missing.add(itemId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(load(missing));
+        }
+        return result;
+    }
+
+    public void add(int itemId, CommentDto comment) {
+        synchronized (this) {
+            version++;
+            RecentComments recent = cache.get(itemId, RecentComments.class);
+            if (recent != null) {
+                cache.put(itemId, recent.prepend(comment, size));
+            }
+        }
+    }
+
+    public void evict(int itemId) {
+        synchronized (this) {
+            version++;
+            cache.evict(itemId);
+        }
+    }
+
+    public void clear() {
+        synchronized (this) {
+            version++;
+            cache.clear();
+        }
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (event.getRegion() == CacheRegion.COMMENT) {
+            evict(event.getEntityId());
+        } else if (event.getRegion() == CacheRegion.USER) {
+            clear();
+        }
+    }
+
+    private Map<Integer, RecentComments> load(Collection<Integer> itemIds) {
+        long loadedVersion;
+        synchronized (this) {
+            loadedVersion = version;
+        }
+
+        Map<Integer, List<CommentDto>> newest = new HashMap<>();
+        commentRepository.findNewestByItemIds(itemIds, size + 1).forEach(view ->
+                newest.computeIfAbsent(view.getItemId(), id -> new ArrayList<>())
+                        .add(new CommentDto(view.getId(), view.getText(), view.getAuthorName(), view.getCreated())));
+
+        Map<Integer, RecentComments> loaded = new HashMap<>();
+        itemIds.forEach(itemId -> loaded.put(itemId,
+                RecentComments.of(newest.getOrDefault(itemId, List.of()), size)));
+
+        // комментарий мог добавиться во время чтения, тогда список не сохраняется
+        synchronized (this) {
+            if (loadedVersion == version) {
+                loaded.forEach(cache::put);
+            }
+        }
+        return loaded;
+    }
+}
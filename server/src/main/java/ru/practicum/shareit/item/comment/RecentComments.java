@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.CommentDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class RecentComments {
+    private final List<CommentDto> comments;
+
+    private final boolean more;
+
+    public static RecentComments of(List<CommentDto> newest, int size) {
+        if (newest.size() > size) {
+            return new RecentComments(List.copyOf(newest.subList(0, size)), true);
+        }
+        return new RecentComments(List.copyOf(newest), false);
+    }
+
+    public RecentComments prepend(CommentDto comment, int size) {
+        if (comments.stream().anyMatch(recent -> recent.getId() == comment.getId())) {
+            return this;
+        }
+        List<CommentDto> newest = new ArrayList<>(comments.size() + 1);
+        newest.add(comment);
+        newest.addAll(comments);
+        RecentComments result = of(newest, size);
+        return more ? new RecentComments(result.getComments(), true) : result;
+    }
+}
@@ -31,4 +31,6 @@ public class ItemDto {
     private BookingDtoShort nextBooking;
 
     private List<CommentDto> comments;
+
+    private String commentsCursor;
 }
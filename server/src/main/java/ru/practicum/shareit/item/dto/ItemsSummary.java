@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemsSummary {
+    Long getCount();
+
+    Integer getMaxId();
+
+    Long getVersionSum();
+}
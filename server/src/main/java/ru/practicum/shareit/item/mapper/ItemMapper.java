@@ -1,7 +1,6 @@
 package ru.practicum.shareit.item.mapper;
 
-import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -12,7 +11,8 @@ import java.util.List;
 
 public class ItemMapper {
 
-    public static ItemDto toItemDto(Item item, Booking lastBooking, Booking nextBooking, List<CommentDto> comments) {
+    public static ItemDto toItemDto(Item item, BookingDtoShort lastBooking, BookingDtoShort nextBooking,
+                                    List<CommentDto> comments) {
         ItemDto dto = new ItemDto();
         dto.setId(item.getId());
         dto.setName(item.getName());
@@ -20,12 +20,8 @@ public class ItemMapper {
         dto.setAvailable(item.getAvailable());
         dto.setOwner(UserMapper.toUserDto(item.getOwner()));
         dto.setRequestId(item.getRequestId() == null ? null : item.getRequestId());
-        if (lastBooking != null) {
-            dto.setLastBooking(BookingMapper.toBookingDtoShort(lastBooking));
-        }
-        if (nextBooking != null) {
-            dto.setNextBooking(BookingMapper.toBookingDtoShort(nextBooking));
-        }
+        dto.setLastBooking(lastBooking);
+        dto.setNextBooking(nextBooking);
         if (comments != null) {
             dto.setComments(comments);
         }
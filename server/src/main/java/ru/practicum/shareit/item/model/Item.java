@@ -13,6 +13,8 @@ import javax.persistence.GenerationType;
 import javax.persistence.ManyToOne;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 
 @Entity
 @Table(name = "items", schema = "public")
@@ -21,7 +23,8 @@ import javax.persistence.JoinColumn;
 @NoArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private int id;
 
     private String name;
@@ -30,9 +33,16 @@ public class Item {
 
     private Boolean available;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "owner_id")
     private User owner;
 
     private Integer requestId;
+
+    @Version
+    private int version;
+
+    public Item(int id, String name, String description, Boolean available, User owner, Integer requestId) {
+        this(id, name, description, available, owner, requestId, 0);
+    }
 }
@@ -1,10 +1,37 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
-    List<Comment> findAllByItemIdOrderByCreated(int id);
+    String SELECT_DTO = "SELECT new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a ";
+
+    @Query(SELECT_DTO + "WHERE c.item.id = :itemId ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findNewestByItemId(@Param("itemId") int itemId, Pageable page);
+
+    @Query(SELECT_DTO + "WHERE c.item.id = :itemId " +
+            "AND (c.created < :created OR (c.created = :created AND c.id < :id)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findNewestByItemIdBefore(@Param("itemId") int itemId,
+                                              @Param("created") LocalDateTime created,
+                                              @Param("id") int id, Pageable page);
+
+    @Query(value = "SELECT recent.item_id AS itemId, recent.id AS id, recent.text AS text, " +
+            "recent.author_name AS authorName, recent.created AS created FROM (SELECT c.item_id, c.id, c.text, " +
+            "u.name AS author_name, c.created, ROW_NUMBER() OVER (PARTITION BY c.item_id " +
+            "ORDER BY c.created DESC, c.id DESC) AS rn FROM comments c JOIN users u ON u.id = c.author_id " +
+            "WHERE c.item_id IN (:itemIds)) AS recent " +
+            "WHERE recent.rn <= :limit ORDER BY recent.item_id, recent.created DESC, recent.id DESC",
+            nativeQuery = true)
+    List<CommentView> findNewestByItemIds(@Param("itemIds") Collection<Integer> itemIds, @Param("limit") int limit);
 }
@@ -3,18 +3,40 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemsSummary;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
     void deleteAllByOwnerId(int id);
 
     Page<Item> findAllByOwnerId(int id, Pageable page);
 
-    Page<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(String name,
-                                                                                                 String description,
-                                                                                                 Pageable page);
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner WHERE i.requestId = :requestId")
+    List<Item> findAllByRequestId(@Param("requestId") int requestId);
 
-    List<Item> findAllByRequestId(int requestId);
+    @Query("SELECT COUNT(i) AS count, MAX(i.id) AS maxId, SUM(i.version) AS versionSum " +
+            "FROM Item i WHERE i.requestId = :requestId")
+    ItemsSummary summarizeByRequestId(@Param("requestId") int requestId);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner WHERE i.requestId IN :requestIds")
+    List<Item> findAllByRequestIdIn(@Param("requestIds") Collection<Integer> requestIds);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner WHERE i.id IN :ids")
+    List<Item> findAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Item> findLockedById(int id);
+
+    // строки блокируются по возрастанию id, чтобы пакеты с общими вещами не взаимоблокировались
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findLockedAllByIdIn(@Param("ids") Collection<Integer> ids);
 }
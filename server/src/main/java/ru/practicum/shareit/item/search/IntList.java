@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+public class IntList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] values;
+
+    private int size;
+
+    public IntList() {
+        this.values = new int[INITIAL_CAPACITY];
+    }
+
+    private IntList(int[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    public boolean add(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public static IntList union(IntList first, IntList second) {
+        int[] merged = new int[first.size + second.size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.size && j < second.size) {
+            int a = first.values[i];
+            int b = second.values[j];
+            if (a < b) {
+                merged[k++] = a;
+                i++;
+            } else if (a > b) {
+                merged[k++] = b;
+                j++;
+            } else {
+                merged[k++] = a;
+                i++;
+                j++;
+            }
+        }
+        while (i < first.size) {
+            merged[k++] = first.values[i++];
+        }
+        while (j < second.size) {
+            merged[k++] = second.values[j++];
+        }
+        return new IntList(merged.length == 0 ? new int[INITIAL_CAPACITY] : merged, k);
+    }
+
+    public static IntList unionAll(Collection<IntList> lists) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, lists.size()),
+                Comparator.comparingInt(Cursor::value));
+        int total = 0;
+        for (IntList list : lists) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor(list));
+                total += list.size;
+            }
+        }
+
+        int[] merged = new int[Math.max(total, INITIAL_CAPACITY)];
+        int k = 0;
+        while (!heads.isEmpty()) {
+            Cursor head = heads.poll();
+            int value = head.value();
+            if (k == 0 || merged[k - 1] != value) {
+                merged[k++] = value;
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return new IntList(merged, k);
+    }
+
+    private static class Cursor {
+        private final IntList list;
+
+        private int position;
+
+        Cursor(IntList list) {
+            this.list = list;
+        }
+
+        int value() {
+            return list.values[position];
+        }
+
+        boolean advance() {
+            return ++position < list.size;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.invalidation.CacheInvalidationEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ItemRepository itemRepository;
+    private final NavigableMap<String, IntList> namePostings = new TreeMap<>();
+    private final NavigableMap<String, IntList> descriptionPostings = new TreeMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // изменения, пришедшие во время чтения вещей из базы, повторяются поверх прочитанного снимка
+    @Nullable
+    private List<Runnable> replay;
+
+    @Autowired
+    public ItemSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Runnable> writes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            replay = writes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Item> items = null;
+        try {
+            items = itemRepository.findAll();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (items != null) {
+                    namePostings.clear();
+                    descriptionPostings.clear();
+                    documents.clear();
+                    items.forEach(this::addDocument);
+                    writes.forEach(Runnable::run);
+                }
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Поисковый индекс вещей построен, проиндексировано вещей: {}.", items.size());
+    }
+
+    public void index(Item item) {
+        write(() -> {
+            removeDocument(item.getId());
+            addDocument(item);
+        });
+    }
+
+    public void remove(int itemId) {
+        write(() -> removeDocument(itemId));
+    }
+
+    public void removeByOwner(int ownerId) {
+        write(() -> {
+            List<Integer> ids = new ArrayList<>();
+            documents.forEach((id, document) -> {
+                if (document.ownerId == ownerId) {
+                    ids.add(id);
+                }
+            });
+            ids.forEach(this::removeDocument);
+        });
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        int id = event.getEntityId();
+        switch (event.getRegion()) {
+            case ITEM:
+                itemRepository.findById(id).ifPresentOrElse(this::index, () -> remove(id));
+                break;
+            case OWNER:
+                removeByOwner(id);
+                break;
+            default:
+                break;
+        }
+    }
+
+    public List<Integer> search(String text, int from, int size) {
+        Set<String> terms = tokenize(text);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] ids = null;
+            int[] scores = null;
+            int count = 0;
+            for (String term : terms) {
+                IntList nameHits = collect(namePostings, term);
+                IntList descriptionHits = collect(descriptionPostings, term);
+                if (ids == null) {
+                    IntList hits = IntList.union(nameHits, descriptionHits);
+                    ids = new int[hits.size()];
+                    scores = new int[hits.size()];
+                    for (int i = 0; i < hits.size(); i++) {
+                        ids[count++] = hits.get(i);
+                    }
+                }
+                int matched = 0;
+                for (int i = 0; i < count; i++) {
+                    int score = score(ids[i], nameHits, descriptionHits);
+                    if (score > 0) {
+                        ids[matched] = ids[i];
+                        scores[matched] = scores[i] + score;
+                        matched++;
+                    }
+                }
+                count = matched;
+            }
+
+            List<Integer> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (documents.get(ids[i]).available) {
+                    result.add(i);
+                }
+            }
+            int[] rankedIds = ids;
+            int[] rankedScores = scores;
+            result.sort((a, b) -> rankedScores[a] != rankedScores[b]
+                    ? Integer.compare(rankedScores[b], rankedScores[a])
+                    : Integer.compare(rankedIds[a], rankedIds[b]));
+
+            int offset = from > 0 ? from / size * size : 0;
+            List<Integer> page = new ArrayList<>(size);
+            for (int i = offset; i < result.size() && page.size() < size; i++) {
+                page.add(rankedIds[result.get(i)]);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .forEach(tokens::add);
+        return tokens;
+    }
+
+    private static int score(int id, IntList nameHits, IntList descriptionHits) {
+        int score = 0;
+        if (nameHits.contains(id)) {
+            score += NAME_WEIGHT;
+        }
+        if (descriptionHits.contains(id)) {
+            score += DESCRIPTION_WEIGHT;
+        }
+        return score;
+    }
+
+    private static IntList collect(NavigableMap<String, IntList> postings, String prefix) {
+        return IntList.unionAll(postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(Item item) {
+        Document document = new Document(item.getOwner() == null ? 0 : item.getOwner().getId(),
+                Boolean.TRUE.equals(item.getAvailable()),
+                tokenize(item.getName()),
+                tokenize(item.getDescription()));
+        documents.put(item.getId(), document);
+        document.nameTerms.forEach(term -> namePostings.computeIfAbsent(term, t -> new IntList()).add(item.getId()));
+        document.descriptionTerms.forEach(term ->
+                descriptionPostings.computeIfAbsent(term, t -> new IntList()).add(item.getId()));
+    }
+
+    private void removeDocument(int itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        document.nameTerms.forEach(term -> removePosting(namePostings, term, itemId));
+        document.descriptionTerms.forEach(term -> removePosting(descriptionPostings, term, itemId));
+    }
+
+    private static void removePosting(Map<String, IntList> postings, String term, int itemId) {
+        IntList list = postings.get(term);
+        if (list != null) {
+            list.remove(itemId);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static class Document {
+        private final int ownerId;
+
+        private final boolean available;
+
+        private final Set<String> nameTerms;
+
+        private final Set<String> descriptionTerms;
+
+        Document(int ownerId, boolean available, Set<String> nameTerms, Set<String> descriptionTerms) {
+            this.ownerId = ownerId;
+            this.available = available;
+            this.nameTerms = nameTerms;
+            this.descriptionTerms = descriptionTerms;
+        }
+    }
+}
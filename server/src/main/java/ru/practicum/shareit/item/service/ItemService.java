@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.etag.Versioned;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
@@ -7,7 +8,7 @@ import ru.practicum.shareit.item.model.Item;
 import java.util.List;
 
 public interface ItemService {
-    ItemDto itemById(int id, int userId);
+    Versioned<ItemDto> itemById(int id, int userId);
 
     List<ItemDto> allItemsByOwner(int id, int from, int size);
 
@@ -19,5 +20,7 @@ public interface ItemService {
 
     CommentDto addComment(CommentDto commentDto, int itemId, int userId);
 
+    List<CommentDto> getComments(int itemId, String cursor, int size);
+
     Item findItemById(int id);
 }
@@ -3,14 +3,24 @@ package ru.practicum.shareit.item.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.snapshot.BookingSnapshot;
+import ru.practicum.shareit.booking.snapshot.BookingSnapshotStore;
+import ru.practicum.shareit.etag.Versioned;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.invalidation.CacheInvalidationBus;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
+import ru.practicum.shareit.item.comment.RecentCommentStore;
+import ru.practicum.shareit.item.comment.RecentComments;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -19,82 +29,116 @@ import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.mapper.UserMapper;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.cache.UserCache;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex searchIndex;
+    private final CacheInvalidationBus invalidationBus;
+    private final BookingSnapshotStore snapshotStore;
+    private final RecentCommentStore commentStore;
 
     @Autowired
-    public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository,
-                           BookingRepository bookingRepository, CommentRepository commentRepository) {
+    public ItemServiceImpl(ItemRepository itemRepository, UserCache userCache,
+                           BookingRepository bookingRepository, CommentRepository commentRepository,
+                           ItemSearchIndex searchIndex, CacheInvalidationBus invalidationBus,
+                           BookingSnapshotStore snapshotStore, RecentCommentStore commentStore) {
         this.itemRepository = itemRepository;
-        this.userRepository = userRepository;
+        this.userCache = userCache;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
+        this.searchIndex = searchIndex;
+        this.invalidationBus = invalidationBus;
+        this.snapshotStore = snapshotStore;
+        this.commentStore = commentStore;
     }
 
     @Override
-    public ItemDto itemById(int itemId, int userId) {
+    public Versioned<ItemDto> itemById(int itemId, int userId) {
         Item item = findItemById(itemId);
-        List<CommentDto> comments = commentsList(itemId);
+        RecentComments comments = commentStore.get(itemId);
+        List<List<Object>> commentAuthors = comments.getComments().stream()
+                .map(comment -> List.<Object>of(comment.getId(), comment.getAuthorName()))
+                .collect(Collectors.toList());
         if (userId == item.getOwner().getId()) {
-            Booking lastBooking = bookingRepository.findFirstByItemIdAndStartIsBeforeAndStatusOrderByStartDesc(itemId,
-                    LocalDateTime.now(), Status.APPROVED);
-            Booking nextBooking = bookingRepository.findFirstByItemIdAndStartIsAfterAndStatusOrderByStartAsc(itemId,
-                    LocalDateTime.now(), Status.APPROVED);
-            return ItemMapper.toItemDto(item, lastBooking, nextBooking, comments);
+            BookingSnapshot snapshot = snapshotStore.get(itemId);
+            String tag = Versioned.tag("item", itemId, item.getVersion(), true,
+                    bookingId(snapshot.getLastBooking()), bookingId(snapshot.getNextBooking()),
+                    commentAuthors, comments.isMore());
+            return new Versioned<>(tag, () -> withComments(ItemMapper.toItemDto(item, snapshot.getLastBooking(),
+                    snapshot.getNextBooking(), null), comments));
         } else {
-            return ItemMapper.toItemDtoShort(item, comments);
+            String tag = Versioned.tag("item", itemId, item.getVersion(), false, commentAuthors, comments.isMore());
+            return new Versioned<>(tag, () -> withComments(ItemMapper.toItemDtoShort(item, null), comments));
         }
     }
 
     @Override
     public List<ItemDto> allItemsByOwner(int id, int from, int size) {
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        return itemRepository.findAllByOwnerId(id, page)
-                .stream()
-                .map(item -> ItemMapper.toItemDto(item,
-                                        bookingRepository
-                                                .findFirstByItemIdAndStartIsBeforeAndStatusOrderByStartDesc(item.getId(),
-                                                        LocalDateTime.now(), Status.APPROVED),
-                                        bookingRepository
-                                                .findFirstByItemIdAndStartIsAfterAndStatusOrderByStartAsc(item.getId(),
-                                                        LocalDateTime.now(), Status.APPROVED),
-                                        commentsList(item.getId())))
+        List<Item> items = itemRepository.findAllByOwnerId(id, page).getContent();
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Integer, BookingSnapshot> snapshots = snapshotStore.getAll(itemIds);
+        Map<Integer, RecentComments> comments = commentStore.getAll(itemIds);
+
+        return items.stream()
+                .map(item -> withComments(ItemMapper.toItemDto(item,
+                        snapshots.get(item.getId()).getLastBooking(),
+                        snapshots.get(item.getId()).getNextBooking(),
+                        null), comments.get(item.getId())))
                 .sorted(Comparator.comparing(ItemDto::getId))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<ItemDto> searchItem(String text, int from, int size) {
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        if (!text.isBlank() || !text.isEmpty()) {
-            return itemRepository
-                    .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(text, text, page)
-                    .stream()
-                    .map(item -> ItemMapper.toItemDtoShort(item, null))
-                    .collect(Collectors.toList());
-        } else {
+        if (text.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> ids = searchIndex.search(text, from, size);
+        if (ids.isEmpty()) {
             return new ArrayList<>();
         }
+        Map<Integer, Item> items = itemRepository.findAllByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(item -> ItemMapper.toItemDtoShort(item, null))
+                .collect(Collectors.toList());
     }
 
     @Override
     public ItemDto createItem(ItemDto itemDto, int ownerId) {
-        Item item = buildItem(itemDto, ownerId);
-        return ItemMapper.toItemDtoShort(itemRepository.save(item), null);
+        Item item = itemRepository.save(buildItem(itemDto, ownerId));
+        searchIndex.index(item);
+        invalidationBus.publish(CacheRegion.ITEM, item.getId());
+        return ItemMapper.toItemDtoShort(item, null);
     }
 
     @Override
@@ -121,7 +165,10 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(available);
         }
 
-        return ItemMapper.toItemDtoShort(itemRepository.save(item), null);
+        Item savedItem = itemRepository.save(item);
+        searchIndex.index(savedItem);
+        invalidationBus.publish(CacheRegion.ITEM, savedItem.getId());
+        return ItemMapper.toItemDtoShort(savedItem, null);
     }
 
     @Override
@@ -143,7 +190,21 @@ public class ItemServiceImpl implements ItemService {
             throw new ValidationException(warning);
         }
 
-        return ItemMapper.toCommentDto(commentRepository.save(comment));
+        CommentDto savedComment = ItemMapper.toCommentDto(commentRepository.save(comment));
+        commentStore.add(itemId, savedComment);
+        invalidationBus.publish(CacheRegion.COMMENT, itemId);
+        return savedComment;
+    }
+
+    @Override
+    public List<CommentDto> getComments(int itemId, String cursor, int size) {
+        findItemById(itemId);
+        PageRequest page = PageRequest.of(0, size);
+        if (cursor == null) {
+            return commentRepository.findNewestByItemId(itemId, page);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return commentRepository.findNewestByItemIdBefore(itemId, after.getTime(), after.getId(), page);
     }
 
     @Override
@@ -158,15 +219,24 @@ public class ItemServiceImpl implements ItemService {
         return ItemMapper.toItem(itemDto);
     }
 
-    private List<CommentDto> commentsList(int id) {
-        return commentRepository.findAllByItemIdOrderByCreated(id)
-                .stream()
-                .map(ItemMapper::toCommentDto)
-                .collect(Collectors.toList());
+    @Nullable
+    private static Integer bookingId(@Nullable BookingDtoShort booking) {
+        return booking == null ? null : booking.getId();
+    }
+
+    private static ItemDto withComments(ItemDto itemDto, RecentComments recent) {
+        List<CommentDto> newest = recent.getComments();
+        List<CommentDto> comments = new ArrayList<>(newest);
+        Collections.reverse(comments);
+        itemDto.setComments(comments);
+        if (recent.isMore()) {
+            CommentDto oldest = newest.get(newest.size() - 1);
+            itemDto.setCommentsCursor(new KeysetCursor(oldest.getCreated(), oldest.getId()).encode());
+        }
+        return itemDto;
     }
 
     private UserDto findUserById(int id) {
-        return UserMapper.toUserDto(userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Невозможно найти. Такого пользователя нет.")));
+        return UserMapper.toUserDto(userCache.get(id));
     }
 }
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class MethodMetrics implements MethodInterceptor {
+    public static final String SERVICE_TIMER = "shareit.service.method";
+    public static final String REPOSITORY_TIMER = "shareit.repository.query";
+    public static final String REPOSITORY_ROWS = "shareit.repository.rows";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String timerName;
+    private final String rowsName;
+    private final String ownerTag;
+    private final Function<Object, String> ownerName;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    private MethodMetrics(ObjectProvider<MeterRegistry> meterRegistry, String timerName, String rowsName,
+                          String ownerTag, Function<Object, String> ownerName) {
+        this.meterRegistry = meterRegistry;
+        this.timerName = timerName;
+        this.rowsName = rowsName;
+        this.ownerTag = ownerTag;
+        this.ownerName = ownerName;
+    }
+
+    public static MethodMetrics forServices(ObjectProvider<MeterRegistry> meterRegistry,
+                                            Function<Object, String> serviceName) {
+        return new MethodMetrics(meterRegistry, SERVICE_TIMER, null, "service", serviceName);
+    }
+
+    public static MethodMetrics forRepository(ObjectProvider<MeterRegistry> meterRegistry, Class<?> repository) {
+        String name = repository.getSimpleName();
+        return new MethodMetrics(meterRegistry, REPOSITORY_TIMER, REPOSITORY_ROWS, "repository", target -> name);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        MethodMeters methodMeters = meters.get(method);
+        if (methodMeters == null) {
+            methodMeters = meters.computeIfAbsent(method, key -> register(key, invocation.getThis()));
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodMeters.recordRows(result);
+            return result;
+        } finally {
+            methodMeters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MethodMeters register(Method method, Object target) {
+        MeterRegistry registry = meterRegistry.getObject();
+        String owner = ownerName.apply(target);
+        Timer timer = Timer.builder(timerName)
+                .tag(ownerTag, owner)
+                .tag("method", method.getName())
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(registry);
+
+        DistributionSummary rows = null;
+        if (rowsName != null && returnsRows(method.getReturnType())) {
+            rows = DistributionSummary.builder(rowsName)
+                    .baseUnit("rows")
+                    .tag(ownerTag, owner)
+                    .tag("method", method.getName())
+                    .register(registry);
+        }
+        return new MethodMeters(timer, rows);
+    }
+
+    private static boolean returnsRows(Class<?> type) {
+        return !type.isPrimitive() && !Number.class.isAssignableFrom(type) && type != Boolean.class;
+    }
+
+    private static final class MethodMeters {
+        private final Timer timer;
+        private final DistributionSummary rows;
+
+        private MethodMeters(Timer timer, DistributionSummary rows) {
+            this.timer = timer;
+            this.rows = rows;
+        }
+
+        private void recordRows(Object result) {
+            if (rows == null) {
+                return;
+            }
+            if (result == null) {
+                rows.record(0);
+            } else if (result instanceof Slice) {
+                rows.record(((Slice<?>) result).getNumberOfElements());
+            } else if (result instanceof Collection) {
+                rows.record(((Collection<?>) result).size());
+            } else if (result instanceof Optional) {
+                rows.record(((Optional<?>) result).isPresent() ? 1 : 0);
+            } else {
+                rows.record(1);
+            }
+        }
+    }
+}
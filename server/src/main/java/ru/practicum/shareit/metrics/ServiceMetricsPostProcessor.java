@@ -0,0 +1,49 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+public class ServiceMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+    private static final List<Class<?>> SERVICES = List.of(BookingService.class, ItemService.class,
+            ItemRequestService.class, UserService.class);
+
+    public ServiceMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        MethodMetrics metrics = MethodMetrics.forServices(meterRegistry,
+                target -> serviceOf(AopUtils.getTargetClass(target)).getSimpleName());
+        this.advisor = new DefaultPointcutAdvisor(new ServicePointcut(), metrics);
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static Class<?> serviceOf(Class<?> targetClass) {
+        return SERVICES.stream()
+                .filter(service -> service.isAssignableFrom(targetClass))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Класс не реализует сервис: " + targetClass));
+    }
+
+    private static class ServicePointcut extends StaticMethodMatcherPointcut {
+        @Override
+        public ClassFilter getClassFilter() {
+            return clazz -> SERVICES.stream().anyMatch(service -> service.isAssignableFrom(clazz));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return ClassUtils.hasMethod(serviceOf(targetClass), method.getName(), method.getParameterTypes());
+        }
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.budget.StatementBudget;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -30,6 +32,7 @@ public class ItemRequestController {
 
     @ResponseBody
     @PostMapping()
+    @StatementBudget(4)
     public ItemRequestDto createItemRequest(@RequestBody ItemRequestDto requestDto,
                                             @RequestHeader(USER_ID) int requesterId) {
         log.info("Получен POST-запрос к эндпоинту /requests на создание запроса вещи.");
@@ -37,12 +40,14 @@ public class ItemRequestController {
     }
 
     @GetMapping()
+    @StatementBudget(3)
     public List<ItemRequestDto> getItemRequestsByOwnerId(@RequestHeader(USER_ID) int requesterId) {
         log.info("Получен GET-запрос к эндпоинту /requests на получение списка собственных запросов на вещи.");
         return requestService.getItemRequestsByOwnerId(requesterId);
     }
 
     @GetMapping("/all")
+    @StatementBudget(3)
     public List<ItemRequestDto> allItemRequests(@RequestHeader(USER_ID) int userId,
                                                 @RequestParam(defaultValue = "0") int from,
                                                 @RequestParam(defaultValue = "10") int size) {
@@ -51,9 +56,11 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
+    @StatementBudget(4)
     public ItemRequestDto itemRequestById(@PathVariable int requestId,
-                                          @RequestHeader(USER_ID) int requesterId) {
+                                          @RequestHeader(USER_ID) int requesterId,
+                                          WebRequest request) {
         log.info("Получен GET-запрос к эндпоинту /requests/{requestId} на получение запроса на вещь по id.");
-        return requestService.itemRequestById(requestId, requesterId);
+        return requestService.itemRequestById(requestId, requesterId).getIfModified(request);
     }
 }
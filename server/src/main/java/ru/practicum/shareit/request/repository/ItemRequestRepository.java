@@ -1,6 +1,6 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -10,5 +10,5 @@ import java.util.List;
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
     List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(int requesterId);
 
-    Page<ItemRequest> findAllByRequesterIdNot(int requesterId, Pageable page);
+    Slice<ItemRequest> findAllByRequesterIdNot(int requesterId, Pageable page);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.etag.Versioned;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -11,5 +12,5 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> allItemRequests(int requesterId, int from, int size);
 
-    ItemRequestDto itemRequestById(int requestId, int requesterId);
+    Versioned<ItemRequestDto> itemRequestById(int requestId, int requesterId);
 }
@@ -5,19 +5,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.PageRequest;
 
+import ru.practicum.shareit.etag.Versioned;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
-import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemsSummary;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.cache.CachedUser;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,30 +30,30 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemRepository itemRepository;
 
     @Autowired
     public ItemRequestServiceImpl(ItemRequestRepository requestRepository, UserRepository userRepository,
-                                  ItemRepository itemRepository) {
+                                  UserCache userCache, ItemRepository itemRepository) {
         this.requestRepository = requestRepository;
         this.userRepository = userRepository;
+        this.userCache = userCache;
         this.itemRepository = itemRepository;
     }
 
     @Override
     public ItemRequestDto createItemRequest(ItemRequestDto requestDto, int requesterId) {
-        User user = findUserById(requesterId);
-        ItemRequest request = ItemRequestMapper.toItemRequest(requestDto, user);
+        findUserById(requesterId);
+        ItemRequest request = ItemRequestMapper.toItemRequest(requestDto,
+                userRepository.getReferenceById(requesterId));
         return ItemRequestMapper.toItemRequestDto(requestRepository.save(request), null);
     }
 
     @Override
     public List<ItemRequestDto> getItemRequestsByOwnerId(int requesterId) {
         findUserById(requesterId);
-        return requestRepository.findAllByRequesterIdOrderByCreatedDesc(requesterId)
-                .stream()
-                .map(request -> ItemRequestMapper.toItemRequestDto(request, getItems(request.getId())))
-                .collect(Collectors.toList());
+        return toItemRequestDtos(requestRepository.findAllByRequesterIdOrderByCreatedDesc(requesterId));
     }
 
     @Override
@@ -56,30 +61,43 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         findUserById(userId);
 
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        return requestRepository.findAllByRequesterIdNot(userId, page)
-                .stream()
-                .map(request -> ItemRequestMapper.toItemRequestDto(request, getItems(request.getId())))
-                .collect(Collectors.toList());
+        return toItemRequestDtos(requestRepository.findAllByRequesterIdNot(userId, page).getContent());
     }
 
     @Override
-    public ItemRequestDto itemRequestById(int requestId, int requesterId) {
+    public Versioned<ItemRequestDto> itemRequestById(int requestId, int requesterId) {
         findUserById(requesterId);
-        return ItemRequestMapper.toItemRequestDto(requestRepository.findById(requestId)
-                .orElseThrow(() -> new ItemRequestNotFoundException("Невозможно найти. Такого запроса на вещь нет.")),
-                getItems(requestId));
+        ItemRequest request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new ItemRequestNotFoundException("Невозможно найти. Такого запроса на вещь нет."));
+        ItemsSummary items = itemRepository.summarizeByRequestId(requestId);
+        String tag = Versioned.tag("request", requestId, request.getVersion(),
+                items.getCount(), items.getMaxId(), items.getVersionSum());
+        return new Versioned<>(tag, () -> ItemRequestMapper.toItemRequestDto(request,
+                itemRepository.findAllByRequestId(requestId).stream()
+                        .map(item -> ItemMapper.toItemDtoShort(item, null))
+                        .collect(Collectors.toList())));
     }
 
-    private User findUserById(int id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Невозможно найти. Такого пользователя нет."));
+    private CachedUser findUserById(int id) {
+        return userCache.get(id);
     }
 
-    private List<ItemDto> getItems(int requestId) {
-        return itemRepository
-                .findAllByRequestId(requestId)
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Integer, List<ItemDto>> items = itemRepository.findAllByRequestIdIn(requestIds)
                 .stream()
-                .map(item -> ItemMapper.toItemDtoShort(item, null))
+                .collect(Collectors.groupingBy(Item::getRequestId,
+                        Collectors.mapping(item -> ItemMapper.toItemDtoShort(item, null), Collectors.toList())));
+
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toItemRequestDto(request,
+                        items.getOrDefault(request.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 }
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.budget.StatementBudget;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -29,12 +30,14 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
+    @StatementBudget(1)
     public UserDto userById(@PathVariable int userId) {
         log.info("Получен GET-запрос к эндпоинту /users/{userId} на получение пользователя по id.");
         return userService.userById(userId);
     }
 
     @GetMapping()
+    @StatementBudget(1)
     public List<UserDto> allUsers() {
         log.info("Получен GET-запрос к эндпоинту /users на получение всех пользователей.");
         return userService.allUsers();
@@ -42,6 +45,7 @@ public class UserController {
 
     @ResponseBody
     @PostMapping()
+    @StatementBudget(3)
     public UserDto createUser(@RequestBody UserDto userDto) {
         log.info("Получен POST-запрос к эндпоинту /users на добавление пользователя.");
         return userService.createUser(userDto);
@@ -49,12 +53,14 @@ public class UserController {
 
     @ResponseBody
     @PatchMapping("/{userId}")
+    @StatementBudget(3)
     public UserDto updateUser(@RequestBody UserDto userDto, @PathVariable int userId) {
         log.info("Получен PATCH-запрос к эндпоинту /users/{userId} на обновление пользователя по id.");
         return userService.updateUser(userDto, userId);
     }
 
     @DeleteMapping("/{userId}")
+    @StatementBudget(4)
     public void deleteUser(@PathVariable int userId) {
         log.info("Получен DELETE-запрос к эндпоинту /users/{userId} на удаление пользователя.");
         userService.deleteUser(userId);
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.user.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CachedUser {
+    private final int id;
+
+    private final String name;
+
+    private final String email;
+}
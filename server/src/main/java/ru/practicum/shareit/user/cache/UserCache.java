@@ -0,0 +1,27 @@
+package ru.practicum.shareit.user.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+// В кэше лежат неизменяемые копии, а не сущности: их можно раздавать любым запросам и транзакциям
+@Component
+public class UserCache {
+    public static final String CACHE = "users";
+
+    private final UserRepository userRepository;
+
+    @Autowired
+    public UserCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Cacheable(cacheNames = CACHE)
+    public CachedUser get(int id) {
+        return userRepository.findById(id)
+                .map(user -> new CachedUser(user.getId(), user.getName(), user.getEmail()))
+                .orElseThrow(() -> new UserNotFoundException("Невозможно найти. Такого пользователя нет."));
+    }
+}
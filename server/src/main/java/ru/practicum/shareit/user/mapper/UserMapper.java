@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.mapper;
 
+import ru.practicum.shareit.user.cache.CachedUser;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -10,6 +11,12 @@ public class UserMapper {
                            user.getEmail());
     }
 
+    public static UserDto toUserDto(CachedUser user) {
+        return new UserDto(user.getId(),
+                           user.getName(),
+                           user.getEmail());
+    }
+
     public static User toUser(UserDto userDto) {
         return new User(userDto.getId(),
                         userDto.getName(),
@@ -3,34 +3,50 @@ package ru.practicum.shareit.user.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import ru.practicum.shareit.exception.UserAlreadyExistsException;
+import ru.practicum.shareit.invalidation.CacheInvalidationBus;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.item.comment.RecentCommentStore;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 
 @Slf4j
 @Service
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemRepository itemRepository;
+    private final ItemSearchIndex searchIndex;
+    private final CacheInvalidationBus invalidationBus;
+    private final RecentCommentStore commentStore;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, ItemRepository itemRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserCache userCache, ItemRepository itemRepository,
+                           ItemSearchIndex searchIndex, CacheInvalidationBus invalidationBus,
+                           RecentCommentStore commentStore) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
         this.itemRepository = itemRepository;
+        this.searchIndex = searchIndex;
+        this.invalidationBus = invalidationBus;
+        this.commentStore = commentStore;
     }
 
     @Override
     public UserDto userById(int id) {
-        return UserMapper.toUserDto(findUserById(id));
+        return UserMapper.toUserDto(userCache.get(id));
     }
 
     @Override
@@ -45,7 +61,8 @@ public class UserServiceImpl implements UserService {
     public UserDto createUser(UserDto userDto) {
         try {
             User user = UserMapper.toUser(userDto);
-            return UserMapper.toUserDto(userRepository.save(user));
+            // id берётся из последовательности, поэтому INSERT сбрасывается сразу, чтобы поймать дубликат email
+            return UserMapper.toUserDto(userRepository.saveAndFlush(user));
         } catch (DataIntegrityViolationException e) {
             String warning = "Пользователь с email = " + userDto.getEmail() + " уже существует";
             log.warn(warning);
@@ -54,10 +71,12 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDto updateUser(UserDto userDto, int id) {
         userDto.setId(id);
         User newUser = UserMapper.toUser(userDto);
         User user = findUserById(id);
+        boolean renamed = newUser.getName() != null && !newUser.getName().equals(user.getName());
 
         if (newUser.getEmail() != null) {
             String email = newUser.getEmail();
@@ -69,13 +88,21 @@ public class UserServiceImpl implements UserService {
             user.setName(name);
         }
 
-        return UserMapper.toUserDto(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        if (renamed) {
+            commentStore.clear();
+        }
+        invalidationBus.publish(CacheRegion.USER, id);
+        return UserMapper.toUserDto(savedUser);
     }
 
     @Override
+    @Transactional
     public void deleteUser(int id) {
         userRepository.deleteById(id);
         itemRepository.deleteAllByOwnerId(id);
+        searchIndex.removeByOwner(id);
+        invalidationBus.publish(CacheRegion.OWNER, id);
     }
 
     private User findUserById(int id) {
@@ -1,5 +1,3 @@
-  DROP TABLE IF EXISTS users, items, bookings, comments, item_request;
-
   CREATE TABLE IF NOT EXISTS users (
     id INTEGER GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
@@ -49,4 +47,4 @@
    created TIMESTAMP WITHOUT TIME ZONE,
    CONSTRAINT PK_ITEM_REQUEST PRIMARY KEY (id),
    CONSTRAINT FK_ITEM_REQUEST_REQUESTER FOREIGN KEY (requester_id) REFERENCES users (id)
-  );
\ No newline at end of file
+  );
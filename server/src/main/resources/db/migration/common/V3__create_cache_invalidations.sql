@@ -0,0 +1,10 @@
+  CREATE TABLE IF NOT EXISTS cache_invalidations (
+   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+   region VARCHAR(20) NOT NULL,
+   entity_id INTEGER NOT NULL,
+   origin VARCHAR(36) NOT NULL,
+   created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+   CONSTRAINT PK_CACHE_INVALIDATION PRIMARY KEY (id)
+  );
+
+  CREATE INDEX IF NOT EXISTS IX_CACHE_INVALIDATION_CREATED ON cache_invalidations (created);
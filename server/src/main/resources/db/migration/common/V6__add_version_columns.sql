@@ -0,0 +1,5 @@
+  ALTER TABLE items ADD COLUMN IF NOT EXISTS version INTEGER DEFAULT 0 NOT NULL;
+
+  ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version INTEGER DEFAULT 0 NOT NULL;
+
+  ALTER TABLE item_request ADD COLUMN IF NOT EXISTS version INTEGER DEFAULT 0 NOT NULL;
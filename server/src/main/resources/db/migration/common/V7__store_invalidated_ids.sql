@@ -0,0 +1,7 @@
+  ALTER TABLE cache_invalidations ADD COLUMN entity_ids VARCHAR(2000);
+
+  UPDATE cache_invalidations SET entity_ids = CAST(entity_id AS VARCHAR(11));
+
+  ALTER TABLE cache_invalidations ALTER COLUMN entity_ids SET NOT NULL;
+
+  ALTER TABLE cache_invalidations DROP COLUMN entity_id;
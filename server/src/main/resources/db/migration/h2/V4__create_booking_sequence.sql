@@ -0,0 +1,5 @@
+  CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+  ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+
+  ALTER TABLE bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR bookings_seq;
@@ -0,0 +1,23 @@
+  CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+  CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+  CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+  CREATE SEQUENCE IF NOT EXISTS item_request_seq START WITH 1 INCREMENT BY 50;
+
+  ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+
+  ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+
+  ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
+
+  ALTER TABLE item_request ALTER COLUMN id DROP IDENTITY;
+
+  ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+
+  ALTER TABLE items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_seq;
+
+  ALTER TABLE comments ALTER COLUMN id SET DEFAULT NEXT VALUE FOR comments_seq;
+
+  ALTER TABLE item_request ALTER COLUMN id SET DEFAULT NEXT VALUE FOR item_request_seq;
@@ -0,0 +1,15 @@
+  CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_ITEM_OWNER ON items (owner_id, id);
+
+  CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_ITEM_REQUEST ON items (request_id);
+
+  CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_BOOKING_ITEM_STATUS_START ON bookings (item_id, status, start_date);
+
+  CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_BOOKING_ITEM_BOOKER_END ON bookings (item_id, booker_id, end_date);
+
+  CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_BOOKING_BOOKER_START ON bookings (booker_id, start_date, id);
+
+  CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_BOOKING_BOOKER_STATUS_START ON bookings (booker_id, status, start_date);
+
+  CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_COMMENT_ITEM_CREATED ON comments (item_id, created);
+
+  CREATE INDEX CONCURRENTLY IF NOT EXISTS IX_ITEM_REQUEST_REQUESTER_CREATED ON item_request (requester_id, created);
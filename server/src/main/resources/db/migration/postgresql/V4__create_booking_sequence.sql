@@ -0,0 +1,9 @@
+  CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+
+  SELECT setval('bookings_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings));
+
+  ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+  ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+
+  ALTER SEQUENCE bookings_seq OWNED BY bookings.id;
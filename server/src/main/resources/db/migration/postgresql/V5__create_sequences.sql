@@ -0,0 +1,39 @@
+  CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+
+  CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+
+  CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+
+  CREATE SEQUENCE IF NOT EXISTS item_request_seq INCREMENT BY 50;
+
+  SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users));
+
+  SELECT setval('items_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM items));
+
+  SELECT setval('comments_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM comments));
+
+  SELECT setval('item_request_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM item_request));
+
+  ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+  ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+  ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+  ALTER TABLE item_request ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+  ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+  ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+
+  ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+
+  ALTER TABLE item_request ALTER COLUMN id SET DEFAULT nextval('item_request_seq');
+
+  ALTER SEQUENCE users_seq OWNED BY users.id;
+
+  ALTER SEQUENCE items_seq OWNED BY items.id;
+
+  ALTER SEQUENCE comments_seq OWNED BY comments.id;
+
+  ALTER SEQUENCE item_request_seq OWNED BY item_request.id;
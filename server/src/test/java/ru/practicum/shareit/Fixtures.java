@@ -0,0 +1,101 @@
+package ru.practicum.shareit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Тестовые данные вставляются пачками через JDBC в обход Hibernate. Идентификаторы берутся выше ID_BASE:
+// последовательности, из которых Hibernate выдаёт id новым сущностям, до этого диапазона не доходят
+public class Fixtures {
+    public static final int ID_BASE = 1_000_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Object[]> users = new ArrayList<>();
+    private final List<Object[]> requests = new ArrayList<>();
+    private final List<Object[]> items = new ArrayList<>();
+    private final List<Object[]> bookings = new ArrayList<>();
+    private final List<Object[]> comments = new ArrayList<>();
+
+    public Fixtures(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static int id(int number) {
+        return ID_BASE + number;
+    }
+
+    public Fixtures user(int id, String name, String email) {
+        users.add(new Object[]{id, name, email});
+        return this;
+    }
+
+    public Fixtures request(int id, String description, int requesterId, LocalDateTime created) {
+        requests.add(new Object[]{id, description, requesterId, Timestamp.valueOf(created)});
+        return this;
+    }
+
+    public Fixtures item(int id, String name, String description, int ownerId, @Nullable Integer requestId) {
+        items.add(new Object[]{id, name, description, true, ownerId, requestId});
+        return this;
+    }
+
+    public Fixtures booking(int id, LocalDateTime start, LocalDateTime end, Status status, int itemId,
+                            int bookerId) {
+        bookings.add(new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(end), status.name(), itemId,
+                bookerId});
+        return this;
+    }
+
+    public Fixtures comment(int id, String text, int itemId, int authorId, LocalDateTime created) {
+        comments.add(new Object[]{id, text, itemId, authorId, Timestamp.valueOf(created)});
+        return this;
+    }
+
+    // Общий набор для проверки планов запросов и бенчмарков: каждая десятая вещь описана как дрель,
+    // каждая четвёртая создана по запросу, бронирования разбросаны на ±250 часов от now по всем статусам
+    public Fixtures dataset(int userCount, int itemCount, int bookingCount, int requestCount, int commentCount,
+                            LocalDateTime now) {
+        for (int i = 1; i <= userCount; i++) {
+            user(id(i), "user" + i, "user" + i + "@mail.ru");
+        }
+        for (int i = 1; i <= requestCount; i++) {
+            request(id(i), "request" + i, id(i % userCount + 1), now.minusHours(i));
+        }
+        for (int i = 1; i <= itemCount; i++) {
+            item(id(i), "item" + i, "description " + i + (i % 10 == 0 ? " drill" : ""), id(i % userCount + 1),
+                    requestCount > 0 && i % 4 == 0 ? id(i % requestCount + 1) : null);
+        }
+        Status[] statuses = Status.values();
+        for (int i = 1; i <= bookingCount; i++) {
+            LocalDateTime start = now.plusHours(i % 500 - 250);
+            booking(id(i), start, start.plusHours(2), statuses[i % statuses.length], id(i % itemCount + 1),
+                    id(i * 7 % userCount + 1));
+        }
+        for (int i = 1; i <= commentCount; i++) {
+            comment(id(i), "comment" + i, id(i % itemCount + 1), id(i % userCount + 1), now.minusMinutes(i));
+        }
+        return this;
+    }
+
+    public void insert() {
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO item_request (id, description, requester_id, created) "
+                + "VALUES (?, ?, ?, ?)", requests);
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, available, owner_id, request_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, status, item_id, booker_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, author_id, created) "
+                + "VALUES (?, ?, ?, ?, ?)", comments);
+        users.clear();
+        requests.clear();
+        items.clear();
+        bookings.clear();
+        comments.clear();
+    }
+}
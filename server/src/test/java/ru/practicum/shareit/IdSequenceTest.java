@@ -0,0 +1,55 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class IdSequenceTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    public void shouldNotCollideRawInsertsWithPooledIds() {
+        Set<Integer> userIds = new HashSet<>();
+        Set<Integer> itemIds = new HashSet<>();
+        User owner = userRepository.saveAndFlush(new User(0, "Jpa", "jpa@mail.ru"));
+        userIds.add(owner.getId());
+        itemIds.add(itemRepository.saveAndFlush(new Item(0, "Jpa", "Jpa", true, owner, null)).getId());
+
+        assertTrue(userIds.add(rawInsert("INSERT INTO users (name, email) VALUES ('Raw', 'raw@mail.ru')")));
+        assertTrue(itemIds.add(rawInsert("INSERT INTO items (name, description, available, owner_id) "
+                + "VALUES ('Raw', 'Raw', TRUE, " + owner.getId() + ")")));
+
+        for (int i = 0; i < 60; i++) {
+            User user = userRepository.saveAndFlush(new User(0, "Jpa" + i, "jpa" + i + "@mail.ru"));
+            assertTrue(userIds.add(user.getId()), "Повторный id пользователя " + user.getId());
+            Item item = itemRepository.saveAndFlush(new Item(0, "Jpa" + i, "Jpa", true, owner, null));
+            assertTrue(itemIds.add(item.getId()), "Повторный id вещи " + item.getId());
+        }
+    }
+
+    private int rawInsert(String sql) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> connection.prepareStatement(sql, new String[]{"id"}), keyHolder);
+        return keyHolder.getKey().intValue();
+    }
+}
@@ -0,0 +1,174 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.Fixtures.id;
+
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+public class QueryPlanTest {
+    private static final int USERS = 200;
+    private static final int ITEMS = 2_000;
+    private static final int BOOKINGS = 20_000;
+    private static final int COMMENTS = 4_000;
+    private static final int REQUESTS = 1_000;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // данные фиксируются до ANALYZE, иначе планы строятся по статистике пустых таблиц
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate,
+                     @Autowired PlatformTransactionManager transactionManager) {
+        committed(transactionManager).executeWithoutResult(status -> new Fixtures(jdbcTemplate)
+                .dataset(USERS, ITEMS, BOOKINGS, REQUESTS, COMMENTS, NOW)
+                .insert());
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void cleanUp(@Autowired JdbcTemplate jdbcTemplate,
+                        @Autowired PlatformTransactionManager transactionManager) {
+        committed(transactionManager).executeWithoutResult(status -> {
+            for (String table : List.of("comments", "bookings", "items", "item_request", "users")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE id >= ?", Fixtures.ID_BASE);
+            }
+        });
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @BeforeEach
+    void assertSeeded() {
+        assertEquals(USERS, countSeeded("users"));
+        assertEquals(ITEMS, countSeeded("items"));
+        assertEquals(BOOKINGS, countSeeded("bookings"));
+        assertEquals(COMMENTS, countSeeded("comments"));
+        assertEquals(REQUESTS, countSeeded("item_request"));
+    }
+
+    @Test
+    public void shouldDeclareManagedIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList("SELECT index_name FROM information_schema.indexes "
+                + "WHERE table_schema = 'PUBLIC'", String.class);
+
+        assertTrue(indexes.containsAll(List.of("IX_ITEM_OWNER", "IX_ITEM_REQUEST", "IX_BOOKING_ITEM_STATUS_START",
+                "IX_BOOKING_ITEM_BOOKER_END", "IX_BOOKING_BOOKER_START", "IX_BOOKING_BOOKER_STATUS_START",
+                "IX_COMMENT_ITEM_CREATED", "IX_ITEM_REQUEST_REQUESTER_CREATED")), indexes.toString());
+    }
+
+    @Test
+    public void shouldUseIndexesForBookerBookings() {
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        assertIndexed(() -> bookingRepository.findByBookerId(id(1), page));
+        assertIndexed(() -> bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(id(1), NOW, NOW, page));
+        assertIndexed(() -> bookingRepository.findByBookerIdAndEndIsBefore(id(1), NOW, page));
+        assertIndexed(() -> bookingRepository.findByBookerIdAndStartIsAfter(id(1), NOW, page));
+        assertIndexed(() -> bookingRepository.findByBookerIdAndStatus(id(1), Status.WAITING, page));
+        assertIndexed(() -> bookingRepository.findBookerBookingsAfter(id(1), State.ALL, NOW,
+                new KeysetCursor(NOW, id(100)), 10));
+    }
+
+    @Test
+    public void shouldUseIndexesForOwnerBookings() {
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        assertIndexed(() -> bookingRepository.findByItemOwnerId(id(1), page));
+        assertIndexed(() -> bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(id(1), NOW, NOW, page));
+        assertIndexed(() -> bookingRepository.findByItemOwnerIdAndEndIsBefore(id(1), NOW, page));
+        assertIndexed(() -> bookingRepository.findByItemOwnerIdAndStartIsAfter(id(1), NOW, page));
+        assertIndexed(() -> bookingRepository.findByItemOwnerIdAndStatus(id(1), Status.WAITING, page));
+        assertIndexed(() -> bookingRepository.findOwnerBookingsAfter(id(1), State.WAITING, NOW,
+                new KeysetCursor(NOW, id(100)), 10));
+    }
+
+    @Test
+    public void shouldUseIndexesForItemBookings() {
+        assertIndexed(() -> bookingRepository.findLastBookingsByItemIds(List.of(id(1), id(2), id(3)), NOW,
+                Status.APPROVED.name()));
+        assertIndexed(() -> bookingRepository.findNextBookingsByItemIds(List.of(id(1), id(2), id(3)), NOW,
+                Status.APPROVED.name()));
+        assertIndexed(() -> bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(id(1),
+                EnumSet.of(Status.WAITING, Status.APPROVED), NOW, NOW));
+        assertIndexed(() -> bookingRepository.findFirstByItemIdAndBookerIdAndEndIsBeforeAndStatus(id(1), id(8), NOW,
+                Status.APPROVED));
+    }
+
+    @Test
+    public void shouldUseIndexesForItemsCommentsAndRequests() {
+        assertIndexed(() -> itemRepository.findAllByOwnerId(id(1), PageRequest.of(0, 10)));
+        assertIndexed(() -> itemRepository.findAllByRequestId(id(1)));
+        assertIndexed(() -> itemRepository.findAllByIdIn(List.of(id(1), id(2), id(3))));
+        assertIndexed(() -> commentRepository.findNewestByItemId(id(1), PageRequest.of(0, 10)));
+        assertIndexed(() -> commentRepository.findNewestByItemIdBefore(id(1), LocalDateTime.now(), 10,
+                PageRequest.of(0, 10)));
+        assertIndexed(() -> commentRepository.findNewestByItemIds(List.of(id(1), id(2), id(3)), 11));
+        assertIndexed(() -> itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(id(1)));
+        assertIndexed(() -> userRepository.findAllByEmail("user1@mail.ru"));
+    }
+
+    private static TransactionTemplate committed(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private int countSeeded(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id >= ?", Integer.class,
+                Fixtures.ID_BASE);
+    }
+
+    private void assertIndexed(Runnable finder) {
+        SqlCapture.clear();
+        finder.run();
+        List<String> statements = SqlCapture.statements();
+        assertFalse(statements.isEmpty(), "Запрос не был выполнен");
+
+        String sql = statements.get(0);
+        String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                rs -> rs.next() ? rs.getString(1) : "");
+        assertEquals(-1, plan.indexOf(".tableScan"), "Полный просмотр таблицы:\n" + plan);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import ru.practicum.shareit.budget.StatementBudgetInterceptor;
+import ru.practicum.shareit.budget.StatementStats;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatementBudgetMatchers {
+
+    public static ResultMatcher withinStatementBudget() {
+        return result -> {
+            Integer budget = (Integer) result.getRequest().getAttribute(StatementBudgetInterceptor.BUDGET_ATTRIBUTE);
+            StatementStats stats = (StatementStats) result.getRequest()
+                    .getAttribute(StatementBudgetInterceptor.STATS_ATTRIBUTE);
+            String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+
+            assertNotNull(budget, "У обработчика " + endpoint + " не объявлен @StatementBudget");
+            assertNotNull(stats, "Для " + endpoint + " не собрана статистика SQL-выражений");
+            assertTrue(stats.getStatements() <= budget, endpoint + " выполнил " + stats.getStatements()
+                    + " SQL-выражений при бюджете " + budget);
+        };
+    }
+}
@@ -6,13 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.Versioned;
 import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -24,10 +28,13 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -94,6 +101,26 @@ public class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void shouldAddBookings() throws Exception {
+        BookingDto bookingDto = BookingMapper.toBookingDto(BookingMapper.toBooking(bookingDtoInput, item, user));
+
+        when(bookingService.createBookings(any(), any(Integer.class)))
+                .thenReturn(List.of(new BookingResultDto(bookingDto, null),
+                        new BookingResultDto(null, "Невозможно получить. Такой вещи нет.")));
+
+        mvc.perform(post("/bookings/bulk")
+                        .content(mapper.writeValueAsString(List.of(bookingDtoInput, bookingDtoInput)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].booking.item.id", is(1)))
+                .andExpect(jsonPath("$[1].error", is("Невозможно получить. Такой вещи нет.")));
+    }
+
     @Test
     public void shouldUpdateBooking() throws Exception {
         Booking booking = BookingMapper.toBooking(bookingDtoInput, item, user);
@@ -118,7 +145,7 @@ public class BookingControllerTest {
         BookingDto bookingDto = BookingMapper.toBookingDto(booking);
 
         when(bookingService.getBookingById(any(Integer.class), any(Integer.class)))
-                .thenReturn(bookingDto);
+                .thenReturn(new Versioned<>("booking-1-0-0", () -> bookingDto));
 
         mvc.perform(get("/bookings/1")
                         .content(mapper.writeValueAsString(bookingDto))
@@ -129,6 +156,25 @@ public class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void shouldAnswerNotModifiedForCurrentEtag() throws Exception {
+        Booking booking = BookingMapper.toBooking(bookingDtoInput, item, user);
+        BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+
+        when(bookingService.getBookingById(any(Integer.class), any(Integer.class)))
+                .thenReturn(new Versioned<>("booking-1-0-0", () -> bookingDto));
+
+        mvc.perform(get("/bookings/1")
+                        .header(USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"booking-1-0-0\""));
+        mvc.perform(get("/bookings/1")
+                        .header(USER_ID, 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"booking-1-0-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     public void shouldGetBookings() throws Exception {
         Booking booking = BookingMapper.toBooking(bookingDtoInput, item, user);
@@ -147,6 +193,7 @@ public class BookingControllerTest {
                         .param("from", String.valueOf(1))
                         .param("size", String.valueOf(1)))
                 .andExpect(status().isOk())
+                .andExpect(header().exists("X-Next-Cursor"))
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
@@ -182,4 +229,42 @@ public class BookingControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.error", is("Невозможно получить. Такого бронирования нет.")));
     }
+
+    @Test
+    public void shouldGetBookingsAfterCursor() throws Exception {
+        Booking booking = BookingMapper.toBooking(bookingDtoInput, item, user);
+        BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+        String cursor = new KeysetCursor(bookingDto.getStart(), bookingDto.getId()).encode();
+
+        when(bookingService.getBookingsAfter(any(String.class), any(Integer.class), any(String.class), any(Integer.class)))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, 1)
+                        .param("state", "ALL")
+                        .param("size", String.valueOf(2))
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(bookingService, times(1)).getBookingsAfter("ALL", 1, cursor, 2);
+    }
+
+    @Test
+    public void shouldGetBookingsOwnerAfterCursor() throws Exception {
+        when(bookingService.getBookingsOwnerAfter(any(String.class), any(Integer.class), any(String.class),
+                any(Integer.class)))
+                .thenReturn(List.of());
+
+        mvc.perform(get("/bookings/owner")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, 1)
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(bookingService, times(1)).getBookingsOwnerAfter("ALL", 1, "abc", 10);
+    }
 }
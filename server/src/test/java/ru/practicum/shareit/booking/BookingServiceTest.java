@@ -9,31 +9,42 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.invalidation.CacheInvalidationBus;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingResultDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.snapshot.BookingSnapshotStore;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.exception.BookingNotFoundException;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -50,6 +61,12 @@ public class BookingServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private BookingSnapshotStore snapshotStore;
+
     private BookingService bookingService;
 
     private BookingDtoInput bookingDtoInput;
@@ -83,7 +100,8 @@ public class BookingServiceTest {
                 user2,
                 null);
 
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, new UserCache(userRepository),
+                itemRepository, invalidationBus, snapshotStore);
     }
 
     @Test
@@ -93,7 +111,7 @@ public class BookingServiceTest {
 
         when(userRepository.findById(any(Integer.class)))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(any(Integer.class)))
+        when(itemRepository.findLockedById(any(Integer.class)))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -129,7 +147,7 @@ public class BookingServiceTest {
         item.setOwner(user);
         when(userRepository.findById(any(Integer.class)))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(any(Integer.class)))
+        when(itemRepository.findLockedById(any(Integer.class)))
                 .thenReturn(Optional.of(item));
 
         UserNotFoundException ex = assertThrows(
@@ -142,7 +160,7 @@ public class BookingServiceTest {
         item.setAvailable(false);
         when(userRepository.findById(any(Integer.class)))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(any(Integer.class)))
+        when(itemRepository.findLockedById(any(Integer.class)))
                 .thenReturn(Optional.of(item));
 
         ValidationException ex = assertThrows(
@@ -150,6 +168,87 @@ public class BookingServiceTest {
         assertEquals("Вещь с id = 1 недоступна для бронирования", ex.getMessage());
     }
 
+    @Test
+    public void shouldNotCreateBookingByOverlap() {
+        when(userRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(user));
+        when(itemRepository.findLockedById(any(Integer.class)))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(any(Integer.class),
+                anyCollection(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        ValidationException ex = assertThrows(
+                ValidationException.class, () -> bookingService.createBooking(bookingDtoInput, 1));
+        assertEquals("Вещь с id = 1 уже забронирована на эти даты", ex.getMessage());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    public void shouldCreateBookingsAndReportRejectedEntries() {
+        Item unavailable = new Item(2, "Unavailable", "Test description", false, item.getOwner(), null);
+        BookingDtoInput overlapping = new BookingDtoInput(1, bookingDtoInput.getStart().plusHours(1),
+                bookingDtoInput.getEnd().plusHours(1));
+        BookingDtoInput later = new BookingDtoInput(1, bookingDtoInput.getEnd().plusHours(1),
+                bookingDtoInput.getEnd().plusHours(2));
+
+        when(itemRepository.findLockedAllByIdIn(anyCollection()))
+                .thenReturn(List.of(item, unavailable));
+        when(userRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(user, item.getOwner()));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingResultDto> results = bookingService.createBookings(List.of(bookingDtoInput, overlapping,
+                new BookingDtoInput(2, later.getStart(), later.getEnd()), new BookingDtoInput(3, later.getStart(),
+                        later.getEnd()), later), 1);
+
+        assertEquals(5, results.size());
+        assertEquals(bookingDtoInput.getStart(), results.get(0).getBooking().getStart());
+        assertEquals("Вещь с id = 1 уже забронирована на эти даты", results.get(1).getError());
+        assertEquals("Вещь с id = 2 недоступна для бронирования", results.get(2).getError());
+        assertEquals("Невозможно получить. Такой вещи нет.", results.get(3).getError());
+        assertEquals(later.getStart(), results.get(4).getBooking().getStart());
+        verify(bookingRepository, times(2)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).findOverlapping(anyCollection(), anyCollection(),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(invalidationBus).publishAll(CacheRegion.BOOKING, Set.of(1));
+    }
+
+    @Test
+    public void shouldRejectBookingOverlappingExistingOne() {
+        Booking existing = BookingMapper.toBooking(bookingDtoInput, item, user);
+        when(itemRepository.findLockedAllByIdIn(anyCollection()))
+                .thenReturn(List.of(item));
+        when(userRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(user, item.getOwner()));
+        when(bookingRepository.findOverlapping(anyCollection(), anyCollection(), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenReturn(List.of(existing));
+
+        List<BookingResultDto> results = bookingService.createBookings(List.of(bookingDtoInput), 1);
+
+        assertEquals("Вещь с id = 1 уже забронирована на эти даты", results.get(0).getError());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    public void shouldNotCreateBookingsByNotFoundUser() {
+        when(itemRepository.findLockedAllByIdIn(anyCollection()))
+                .thenReturn(List.of(item));
+
+        assertThrows(UserNotFoundException.class,
+                () -> bookingService.createBookings(List.of(bookingDtoInput), 1));
+    }
+
+    @Test
+    public void shouldNotCreateTooManyBookings() {
+        List<BookingDtoInput> bookings = Collections.nCopies(BookingServiceImpl.MAX_BULK_SIZE + 1, bookingDtoInput);
+
+        assertThrows(ValidationException.class, () -> bookingService.createBookings(bookings, 1));
+        assertThrows(ValidationException.class, () -> bookingService.createBookings(List.of(), 1));
+    }
+
     @Test
     public void shouldUpdateBookingApproved() {
         Booking booking = BookingMapper.toBooking(bookingDtoInput, item, user);
@@ -233,7 +332,7 @@ public class BookingServiceTest {
         when(bookingRepository.findById(any(Integer.class)))
                 .thenReturn(Optional.of(booking));
 
-        BookingDto getBooking = bookingService.getBookingById(1, 2);
+        BookingDto getBooking = bookingService.getBookingById(1, 2).get();
 
         assertEquals(bookingDto.getStart(), getBooking.getStart());
         assertEquals(bookingDto.getEnd(), getBooking.getEnd());
@@ -461,4 +560,68 @@ public class BookingServiceTest {
                 ValidationException.class, () -> bookingService.getBookingsOwner("GGGG", 1, 1, 1));
         assertEquals("Unknown state: GGGG", ex.getMessage());
     }
+
+    @Test
+    public void shouldGetBookingsAfterCursor() {
+        Booking booking = BookingMapper.toBooking(bookingDtoInput, item, user);
+        String cursor = new KeysetCursor(LocalDateTime.now(), 5).encode();
+
+        when(userRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(user));
+        when(bookingRepository.findBookerBookingsAfter(any(Integer.class), any(State.class),
+                any(LocalDateTime.class), any(KeysetCursor.class), any(Integer.class)))
+                .thenReturn(List.of(booking));
+
+        List<BookingDto> getBookings = bookingService.getBookingsAfter("FUTURE", 1, cursor, 1);
+
+        verify(bookingRepository, times(1))
+                .findBookerBookingsAfter(any(Integer.class), any(State.class),
+                        any(LocalDateTime.class), any(KeysetCursor.class), any(Integer.class));
+        assertEquals(1, getBookings.size());
+    }
+
+    @Test
+    public void shouldGetBookingsOwnerAfterCursor() {
+        String cursor = new KeysetCursor(LocalDateTime.now(), 5).encode();
+
+        when(userRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(user));
+        when(bookingRepository.findOwnerBookingsAfter(any(Integer.class), any(State.class),
+                any(LocalDateTime.class), any(KeysetCursor.class), any(Integer.class)))
+                .thenReturn(List.of());
+
+        List<BookingDto> getBookingsOwner = bookingService.getBookingsOwnerAfter("ALL", 1, cursor, 1);
+
+        verify(bookingRepository, times(1))
+                .findOwnerBookingsAfter(any(Integer.class), any(State.class),
+                        any(LocalDateTime.class), any(KeysetCursor.class), any(Integer.class));
+        assertEquals(0, getBookingsOwner.size());
+    }
+
+    @Test
+    public void shouldNotGetBookingsAfterInvalidCursor() {
+        when(userRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(user));
+
+        ValidationException ex = assertThrows(
+                ValidationException.class, () -> bookingService.getBookingsAfter("ALL", 1, "bad", 1));
+        assertEquals("Некорректный курсор: bad", ex.getMessage());
+    }
+
+    @Test
+    public void shouldNotGetBookingsAfterCursorByUnknownState() {
+        when(userRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(user));
+
+        ValidationException ex = assertThrows(
+                ValidationException.class, () -> bookingService.getBookingsOwnerAfter("GGGG", 1, "bad", 1));
+        assertEquals("Unknown state: GGGG", ex.getMessage());
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeCursor() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2030, 1, 2, 3, 4, 5, 6000), 42);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
 }
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.snapshot.BookingSnapshot;
+import ru.practicum.shareit.booking.snapshot.BookingSnapshotStore;
+import ru.practicum.shareit.invalidation.CacheInvalidationEvent;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class BookingSnapshotStoreTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingSnapshotStore snapshotStore;
+
+    private Item item;
+
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User(1, "Owner", "owner@mail.ru");
+        booker = new User(2, "Booker", "booker@mail.ru");
+        item = new Item(1, "Test", "Test description", true, owner, null);
+
+        snapshotStore = new BookingSnapshotStore(bookingRepository, 100);
+    }
+
+    @Test
+    public void shouldLoadSnapshotOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = new Booking(1, now.minusDays(2), now.minusDays(1), item, booker, Status.APPROVED);
+        Booking next = new Booking(2, now.plusDays(1), now.plusDays(2), item, booker, Status.APPROVED);
+        when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenReturn(List.of(last));
+        when(bookingRepository.findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenReturn(List.of(next));
+
+        BookingSnapshot snapshot = snapshotStore.get(1);
+        snapshotStore.get(1);
+
+        assertEquals(1, snapshot.getLastBooking().getId());
+        assertEquals(2, snapshot.getNextBooking().getId());
+        verify(bookingRepository, times(1))
+                .findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    public void shouldLoadOnlyMissingSnapshots() {
+        snapshotStore.get(1);
+
+        Map<Integer, BookingSnapshot> snapshots = snapshotStore.getAll(List.of(1, 2));
+
+        assertEquals(2, snapshots.size());
+        verify(bookingRepository).findLastBookingsByItemIds(eq(List.of(1)), any(LocalDateTime.class), anyString());
+        verify(bookingRepository).findLastBookingsByItemIds(eq(List.of(2)), any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    public void shouldReloadSnapshotAfterBookingInvalidation() {
+        snapshotStore.get(1);
+
+        snapshotStore.onInvalidation(new CacheInvalidationEvent(CacheRegion.USER, 1));
+        snapshotStore.get(1);
+        snapshotStore.onInvalidation(new CacheInvalidationEvent(CacheRegion.BOOKING, 1));
+        snapshotStore.get(1);
+        snapshotStore.onInvalidation(new CacheInvalidationEvent(CacheRegion.ITEM, 1));
+        snapshotStore.get(1);
+
+        verify(bookingRepository, times(3))
+                .findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    public void shouldClearSnapshotsAfterOwnerInvalidation() {
+        snapshotStore.getAll(List.of(1, 2));
+
+        snapshotStore.onInvalidation(new CacheInvalidationEvent(CacheRegion.OWNER, 1));
+        snapshotStore.getAll(List.of(1, 2));
+
+        verify(bookingRepository, times(2))
+                .findLastBookingsByItemIds(eq(List.of(1, 2)), any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    public void shouldKeepLoadWhenOtherItemEvicted() {
+        when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenAnswer(invocation -> {
+                    snapshotStore.evict(2);
+                    return Collections.emptyList();
+                });
+
+        snapshotStore.get(1);
+        snapshotStore.get(1);
+
+        verify(bookingRepository, times(1))
+                .findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    public void shouldDiscardLoadWhenItemEvicted() {
+        when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenAnswer(invocation -> {
+                    snapshotStore.evict(1);
+                    return Collections.emptyList();
+                })
+                .thenReturn(Collections.emptyList());
+
+        snapshotStore.get(1);
+        snapshotStore.get(1);
+
+        verify(bookingRepository, times(2))
+                .findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    public void shouldRollOverStartedNextBooking() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking next = new Booking(2, now.minusSeconds(1), now.plusDays(1), item, booker, Status.APPROVED);
+        when(bookingRepository.findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenReturn(List.of(next))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(next));
+        snapshotStore.get(1);
+
+        snapshotStore.rollover();
+
+        BookingSnapshot snapshot = snapshotStore.get(1);
+        assertEquals(2, snapshot.getLastBooking().getId());
+        assertNull(snapshot.getNextBooking());
+    }
+
+    @Test
+    public void shouldNotRollOverFutureNextBooking() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking next = new Booking(2, now.plusDays(1), now.plusDays(2), item, booker, Status.APPROVED);
+        when(bookingRepository.findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenReturn(List.of(next));
+        snapshotStore.get(1);
+
+        snapshotStore.rollover();
+
+        verify(bookingRepository, times(1))
+                .findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString());
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.SqlCapture;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.user.cache.UserCache;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Fixtures.id;
+
+@SpringBootTest(properties = SqlCapture.PROPERTY)
+@AutoConfigureMockMvc
+@Transactional
+public class BookingStatementCountTest {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private static final int BOOKER_ID = id(0);
+    private static final int OWNER_ID = id(1);
+    private static final int BOOKINGS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserCache.CACHE).clear();
+
+        Fixtures fixtures = new Fixtures(jdbcTemplate);
+        for (int i = 0; i <= BOOKINGS; i++) {
+            fixtures.user(BOOKER_ID + i, "user" + i, "count" + i + "@mail.ru");
+        }
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            int ownerId = i % 2 == 0 ? OWNER_ID : OWNER_ID + i;
+            fixtures.item(id(i), "item" + i, "description" + i, ownerId, null)
+                    .booking(id(i), start.plusHours(i), start.plusHours(i + 1), Status.WAITING, id(i), BOOKER_ID);
+        }
+        fixtures.insert();
+    }
+
+    @Test
+    public void shouldLoadBookerPageInOneQuery() throws Exception {
+        assertStatements(2, get("/bookings")
+                .header(USER_ID, BOOKER_ID)
+                .param("size", String.valueOf(BOOKINGS)), BOOKINGS);
+    }
+
+    @Test
+    public void shouldLoadOwnerPageInOneQuery() throws Exception {
+        assertStatements(2, get("/bookings/owner")
+                .header(USER_ID, OWNER_ID)
+                .param("state", "FUTURE")
+                .param("size", String.valueOf(BOOKINGS)), BOOKINGS / 2);
+    }
+
+    @Test
+    public void shouldLoadCursorPageInOneQuery() throws Exception {
+        String cursor = new KeysetCursor(LocalDateTime.now().plusYears(1), Integer.MAX_VALUE).encode();
+
+        assertStatements(2, get("/bookings")
+                .header(USER_ID, BOOKER_ID)
+                .param("state", "WAITING")
+                .param("cursor", cursor)
+                .param("size", String.valueOf(BOOKINGS)), BOOKINGS);
+    }
+
+    @Test
+    public void shouldLoadBookingInOneQuery() throws Exception {
+        SqlCapture.clear();
+
+        mvc.perform(get("/bookings/" + id(1))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, BOOKER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.id").value(id(1)));
+
+        assertEquals(2, SqlCapture.statements().size(), SqlCapture.statements().toString());
+    }
+
+    @Test
+    public void shouldInsertBulkBookingsInOneBatch() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusYears(1).withNano(0);
+        List<String> bookings = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int itemId = id(1 + 2 * (i % 2));
+            bookings.add("{\"itemId\": " + itemId + ", \"start\": \"" + start.plusHours(i) + "\", \"end\": \""
+                    + start.plusHours(i + 1) + "\"}");
+        }
+        SqlCapture.clear();
+
+        mvc.perform(post("/bookings/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(", ", bookings) + "]")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_ID, BOOKER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(20)))
+                .andExpect(jsonPath("$[19].booking.item.id").value(id(3)));
+        entityManager.flush();
+
+        List<String> statements = SqlCapture.statements();
+        assertEquals(1, count(statements, "insert into public.bookings"), statements.toString());
+        assertEquals(1, count(statements, "from public.users"), statements.toString());
+        assertEquals(1, count(statements, "from public.items"), statements.toString());
+        assertEquals(1, count(statements, "from public.bookings"), statements.toString());
+    }
+
+    private static long count(List<String> statements, String fragment) {
+        return statements.stream()
+                .filter(statement -> statement.toLowerCase().contains(fragment))
+                .count();
+    }
+
+    private void assertStatements(int expected, MockHttpServletRequestBuilder request, int size) throws Exception {
+        SqlCapture.clear();
+
+        mvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(size)));
+
+        assertEquals(expected, SqlCapture.statements().size(), SqlCapture.statements().toString());
+    }
+}
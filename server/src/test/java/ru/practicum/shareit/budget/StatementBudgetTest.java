@@ -0,0 +1,225 @@
+package ru.practicum.shareit.budget;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.comment.RecentCommentStore;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.cache.UserCache;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Fixtures.id;
+import static ru.practicum.shareit.StatementBudgetMatchers.withinStatementBudget;
+
+// Тест не транзакционный: изменения должны фиксироваться, иначе UPDATE не попадут в подсчёт
+@SpringBootTest
+@AutoConfigureMockMvc
+public class StatementBudgetTest {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private static final int OWNER_ID = id(0);
+    private static final int BOOKER_ID = id(1);
+    private static final int REQUESTER_ID = id(2);
+    private static final int DELETED_ID = id(3);
+    private static final int REQUEST_ID = id(0);
+    private static final int ITEMS = 5;
+    private static final int WAITING_BOOKING_ID = id(100);
+    private static final int BULK_ITEM_BASE = 200;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserCache.CACHE).clear();
+        cacheManager.getCache(RecentCommentStore.CACHE).clear();
+        LocalDateTime now = LocalDateTime.now();
+
+        Fixtures fixtures = new Fixtures(jdbcTemplate)
+                .user(OWNER_ID, "Owner", "budget-owner@mail.ru")
+                .user(BOOKER_ID, "Booker", "budget-booker@mail.ru")
+                .user(REQUESTER_ID, "Requester", "budget-requester@mail.ru")
+                .user(DELETED_ID, "Deleted", "budget-deleted@mail.ru")
+                .request(REQUEST_ID, "Нужна дрель", REQUESTER_ID, now.minusDays(3));
+        for (int i = 0; i < ITEMS; i++) {
+            int itemId = id(i);
+            fixtures.item(itemId, "budget" + i, "budget item " + i, OWNER_ID, i < 2 ? REQUEST_ID : null)
+                    .booking(id(i * 2), now.minusDays(2), now.minusDays(1), Status.APPROVED, itemId, BOOKER_ID)
+                    .booking(id(i * 2 + 1), now.plusDays(1), now.plusDays(2), Status.APPROVED, itemId, BOOKER_ID)
+                    .comment(id(i * 2), "Хорошо", itemId, BOOKER_ID, now)
+                    .comment(id(i * 2 + 1), "Отлично", itemId, BOOKER_ID, now);
+        }
+        fixtures.booking(WAITING_BOOKING_ID, now.plusDays(3), now.plusDays(4), Status.WAITING, id(0), BOOKER_ID)
+                .insert();
+        searchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        String owned = "SELECT id FROM items WHERE owner_id = " + OWNER_ID;
+        jdbcTemplate.update("DELETE FROM comments WHERE item_id IN (" + owned + ")");
+        jdbcTemplate.update("DELETE FROM bookings WHERE item_id IN (" + owned + ")");
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", OWNER_ID);
+        jdbcTemplate.update("DELETE FROM item_request WHERE requester_id = ?", REQUESTER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'budget%'");
+        jdbcTemplate.update("DELETE FROM cache_invalidations");
+        cacheManager.getCache(UserCache.CACHE).clear();
+        cacheManager.getCache(RecentCommentStore.CACHE).clear();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    public void shouldDeclareBudgetForEveryEndpoint() {
+        handlerMapping.getHandlerMethods().forEach((mapping, handler) -> {
+            if (handler.getBeanType().getPackageName().startsWith("ru.practicum.shareit")) {
+                assertNotNull(handler.getMethodAnnotation(StatementBudget.class),
+                        "У обработчика " + mapping + " не объявлен @StatementBudget");
+            }
+        });
+    }
+
+    @Test
+    public void shouldKeepUserEndpointsWithinBudget() throws Exception {
+        perform(get("/users/" + OWNER_ID));
+        perform(get("/users"));
+        perform(post("/users").content("{\"name\": \"New\", \"email\": \"budget-new@mail.ru\"}"));
+        perform(patch("/users/" + REQUESTER_ID).content("{\"name\": \"Updated\"}"));
+        perform(delete("/users/" + DELETED_ID));
+    }
+
+    @Test
+    public void shouldKeepItemEndpointsWithinBudget() throws Exception {
+        perform(get("/items/" + id(0)).header(USER_ID, OWNER_ID));
+        perform(get("/items").header(USER_ID, OWNER_ID));
+        perform(get("/items/search").param("text", "budget"));
+        perform(get("/items/" + id(0) + "/comments").param("size", "1"));
+        perform(post("/items").header(USER_ID, OWNER_ID)
+                .content("{\"name\": \"Пила\", \"description\": \"budget saw\", \"available\": true}"));
+        perform(patch("/items/" + id(0)).header(USER_ID, OWNER_ID).content("{\"name\": \"Дрель\"}"));
+        perform(post("/items/" + id(1) + "/comment").header(USER_ID, BOOKER_ID).content("{\"text\": \"Спасибо\"}"));
+    }
+
+    @Test
+    public void shouldEmbedRecentCommentsInCreationOrder() throws Exception {
+        mvc.perform(get("/items/" + id(0)).header(USER_ID, BOOKER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(2)))
+                .andExpect(jsonPath("$.comments[0].id").value(id(0)))
+                .andExpect(jsonPath("$.comments[1].id").value(id(1)))
+                .andExpect(jsonPath("$.comments[1].authorName").value("Booker"))
+                .andExpect(jsonPath("$.commentsCursor").doesNotExist());
+
+        mvc.perform(post("/items/" + id(0) + "/comment").header(USER_ID, BOOKER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"Спасибо\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/items/" + id(0)).header(USER_ID, BOOKER_ID))
+                .andExpect(jsonPath("$.comments", hasSize(3)))
+                .andExpect(jsonPath("$.comments[2].text").value("Спасибо"));
+    }
+
+    @Test
+    public void shouldKeepBookingEndpointsWithinBudget() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        perform(post("/bookings").header(USER_ID, BOOKER_ID).content(bookingJson(id(2), start)));
+        perform(post("/bookings/bulk").header(USER_ID, BOOKER_ID)
+                .content("[" + bookingJson(id(3), start) + ", " + bookingJson(id(4), start) + "]"));
+        perform(patch("/bookings/" + WAITING_BOOKING_ID).header(USER_ID, OWNER_ID).param("approved", "true"));
+        perform(get("/bookings/" + id(0)).header(USER_ID, BOOKER_ID));
+        perform(get("/bookings").header(USER_ID, BOOKER_ID));
+        perform(get("/bookings/owner").header(USER_ID, OWNER_ID));
+    }
+
+    @Test
+    public void shouldKeepFullBulkBookingWithinBudget() throws Exception {
+        Fixtures fixtures = new Fixtures(jdbcTemplate);
+        StringBuilder content = new StringBuilder("[");
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        for (int i = 0; i < BookingServiceImpl.MAX_BULK_SIZE; i++) {
+            int itemId = id(BULK_ITEM_BASE + i);
+            fixtures.item(itemId, "bulk" + i, "bulk item " + i, OWNER_ID, null);
+            content.append(i > 0 ? ", " : "").append(bookingJson(itemId, start));
+        }
+        fixtures.insert();
+
+        mvc.perform(post("/bookings/bulk").header(USER_ID, BOOKER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content.append("]").toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[49].booking.id").exists())
+                .andExpect(withinStatementBudget());
+    }
+
+    @Test
+    public void shouldKeepRequestEndpointsWithinBudget() throws Exception {
+        perform(post("/requests").header(USER_ID, REQUESTER_ID).content("{\"description\": \"Нужна пила\"}"));
+        perform(get("/requests").header(USER_ID, REQUESTER_ID));
+        perform(get("/requests/all").header(USER_ID, OWNER_ID));
+        perform(get("/requests/" + REQUEST_ID).header(USER_ID, REQUESTER_ID));
+    }
+
+    @Test
+    public void shouldExportStatementCountsPerEndpoint() throws Exception {
+        perform(get("/items").header(USER_ID, OWNER_ID));
+
+        DistributionSummary statements = meterRegistry.find(StatementBudgetInterceptor.STATEMENTS)
+                .tags("method", "GET", "uri", "/items")
+                .summary();
+        assertNotNull(statements);
+        assertTrue(statements.count() > 0);
+        assertNotNull(meterRegistry.find(StatementBudgetInterceptor.DB_TIME).tags("uri", "/items").timer());
+    }
+
+    private static String bookingJson(int itemId, LocalDateTime start) {
+        return "{\"itemId\": " + itemId + ", \"start\": \"" + start + "\", \"end\": \"" + start.plusDays(1) + "\"}";
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        mvc.perform(request
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(withinStatementBudget());
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.compression;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GzipResponseFilterTest {
+    private static final byte[] LARGE = ("[" + "{\"id\": 1, \"name\": \"Дрель\"},".repeat(100) + "{}]")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SMALL = "{\"id\": 1}".getBytes(StandardCharsets.UTF_8);
+
+    private final GzipResponseFilter filter = new GzipResponseFilter(DataSize.ofKilobytes(1), 1);
+
+    @Test
+    public void shouldCompressLargeResponseWhenAccepted() throws Exception {
+        MockHttpServletResponse response = filter(LARGE, "gzip, deflate");
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertTrue(response.getContentLength() < LARGE.length);
+        assertArrayEquals(LARGE, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    public void shouldKeepSmallResponseUncompressed() throws Exception {
+        MockHttpServletResponse response = filter(SMALL, "gzip");
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(SMALL, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void shouldSkipClientWithoutGzip() throws Exception {
+        MockHttpServletResponse response = filter(LARGE, null);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void shouldSkipClientRefusingGzip() throws Exception {
+        MockHttpServletResponse response = filter(LARGE, "gzip;q=0, deflate");
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void shouldParseQualityValues() {
+        assertTrue(GzipResponseFilter.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(GzipResponseFilter.acceptsGzip("*"));
+        assertFalse(GzipResponseFilter.acceptsGzip("gzip;q=0, *"));
+        assertFalse(GzipResponseFilter.acceptsGzip("*;q=0"));
+        assertFalse(GzipResponseFilter.acceptsGzip("gzip;q=0.0"));
+        assertFalse(GzipResponseFilter.acceptsGzip("gzipx, deflate"));
+        assertFalse(GzipResponseFilter.acceptsGzip("gzip;q=oops"));
+    }
+
+    @Test
+    public void shouldWeakenStrongEtagOfCompressedResponse() throws Exception {
+        assertEquals("W/\"item-1\"", filter(LARGE, "gzip", "\"item-1\"").getHeader(HttpHeaders.ETAG));
+        assertEquals("W/\"item-1\"", filter(LARGE, "gzip", "W/\"item-1\"").getHeader(HttpHeaders.ETAG));
+        assertEquals("\"item-1\"", filter(SMALL, "gzip", "\"item-1\"").getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void shouldRejectUnsupportedLevel() {
+        assertThrows(IllegalArgumentException.class, () -> new GzipResponseFilter(DataSize.ofKilobytes(1), 10));
+    }
+
+    private MockHttpServletResponse filter(byte[] body, String acceptEncoding) throws Exception {
+        return filter(body, acceptEncoding, null);
+    }
+
+    private MockHttpServletResponse filter(byte[] body, String acceptEncoding, String etag) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                if (etag != null) {
+                    resp.setHeader(HttpHeaders.ETAG, etag);
+                }
+                resp.getOutputStream().write(body);
+            }
+        }));
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.comment.RecentCommentStore;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.cache.UserCache;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Тест не транзакционный: версия увеличивается только при фиксации изменений
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConditionalRequestTest {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private static final int OWNER_ID = Fixtures.id(0);
+    private static final int BOOKER_ID = Fixtures.id(1);
+    private static final int ITEM_ID = Fixtures.id(0);
+    private static final int BOOKING_ID = Fixtures.id(0);
+    private static final int REQUEST_ID = Fixtures.id(0);
+    private static final int COMMENT_ID = Fixtures.id(0);
+    private static final int ANSWER_ID = Fixtures.id(1);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        new Fixtures(jdbcTemplate)
+                .user(OWNER_ID, "Owner", "etag-owner@mail.ru")
+                .user(BOOKER_ID, "Booker", "etag-booker@mail.ru")
+                .request(REQUEST_ID, "Нужна дрель", BOOKER_ID, now.minusDays(1))
+                .item(ITEM_ID, "Дрель", "Простая дрель", OWNER_ID, null)
+                .item(ANSWER_ID, "Дрель", "Ударная дрель", OWNER_ID, REQUEST_ID)
+                .booking(BOOKING_ID, now.plusDays(1), now.plusDays(2), Status.WAITING, ITEM_ID, BOOKER_ID)
+                .comment(COMMENT_ID, "Отличная дрель", ITEM_ID, BOOKER_ID, now.minusHours(1))
+                .insert();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM comments WHERE author_id = ?", BOOKER_ID);
+        jdbcTemplate.update("DELETE FROM bookings WHERE booker_id = ?", BOOKER_ID);
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", OWNER_ID);
+        jdbcTemplate.update("DELETE FROM item_request WHERE requester_id = ?", BOOKER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'etag%'");
+        jdbcTemplate.update("DELETE FROM cache_invalidations");
+        cacheManager.getCache(UserCache.CACHE).clear();
+        cacheManager.getCache(RecentCommentStore.CACHE).clear();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    public void shouldChangeItemEtagAfterUpdate() throws Exception {
+        String etag = etag("/items/" + ITEM_ID, OWNER_ID);
+        assertNotModified("/items/" + ITEM_ID, OWNER_ID, etag);
+        assertNotEquals(etag, etag("/items/" + ITEM_ID, BOOKER_ID));
+
+        mvc.perform(patch("/items/" + ITEM_ID)
+                        .header(USER_ID, OWNER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"Дрель с перфоратором\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT version FROM items WHERE id = ?", Integer.class,
+                ITEM_ID));
+        assertNotEquals(etag, etag("/items/" + ITEM_ID, OWNER_ID));
+    }
+
+    @Test
+    public void shouldChangeItemEtagAfterCommentAuthorRename() throws Exception {
+        String etag = etag("/items/" + ITEM_ID, OWNER_ID);
+        assertNotModified("/items/" + ITEM_ID, OWNER_ID, etag);
+
+        mvc.perform(patch("/users/" + BOOKER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/items/" + ITEM_ID)
+                        .header(USER_ID, OWNER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0].authorName", is("Renamed")));
+    }
+
+    @Test
+    public void shouldKeepItemEtagAfterOwnerRename() throws Exception {
+        String etag = etag("/items/" + ITEM_ID, BOOKER_ID);
+
+        mvc.perform(patch("/users/" + OWNER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed\"}"))
+                .andExpect(status().isOk());
+
+        assertNotModified("/items/" + ITEM_ID, BOOKER_ID, etag);
+    }
+
+    @Test
+    public void shouldChangeBookingEtagAfterApproval() throws Exception {
+        String etag = etag("/bookings/" + BOOKING_ID, BOOKER_ID);
+        assertNotModified("/bookings/" + BOOKING_ID, BOOKER_ID, etag);
+
+        mvc.perform(patch("/bookings/" + BOOKING_ID)
+                        .header(USER_ID, OWNER_ID)
+                        .param("approved", "true"))
+                .andExpect(status().isOk());
+
+        assertNotEquals(etag, etag("/bookings/" + BOOKING_ID, BOOKER_ID));
+    }
+
+    @Test
+    public void shouldChangeRequestEtagWhenItemAnswersIt() throws Exception {
+        String etag = etag("/requests/" + REQUEST_ID, BOOKER_ID);
+        assertNotModified("/requests/" + REQUEST_ID, BOOKER_ID, etag);
+
+        mvc.perform(post("/items")
+                        .header(USER_ID, OWNER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Перфоратор\", \"description\": \"Мощный\", \"available\": true, "
+                                + "\"requestId\": " + REQUEST_ID + "}"))
+                .andExpect(status().isOk());
+
+        assertNotEquals(etag, etag("/requests/" + REQUEST_ID, BOOKER_ID));
+    }
+
+    @Test
+    public void shouldChangeRequestEtagWhenAnsweringItemChanges() throws Exception {
+        String etag = etag("/requests/" + REQUEST_ID, BOOKER_ID);
+
+        mvc.perform(patch("/users/" + OWNER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed\"}"))
+                .andExpect(status().isOk());
+        assertNotModified("/requests/" + REQUEST_ID, BOOKER_ID, etag);
+
+        mvc.perform(patch("/items/" + ANSWER_ID)
+                        .header(USER_ID, OWNER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\": false}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/requests/" + REQUEST_ID)
+                        .header(USER_ID, BOOKER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].available", is(false)));
+    }
+
+    private String etag(String path, int userId) throws Exception {
+        String etag = mvc.perform(get(path).header(USER_ID, userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private void assertNotModified(String path, int userId, String etag) throws Exception {
+        mvc.perform(get(path)
+                        .header(USER_ID, userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
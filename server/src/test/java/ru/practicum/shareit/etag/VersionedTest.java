@@ -0,0 +1,27 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VersionedTest {
+    @Test
+    public void shouldDependOnRelatedValuesOnly() {
+        String tag = Versioned.tag("item", 1, 3, 2, "Owner", List.of(5, 4), false);
+
+        assertTrue(tag.matches("item-1-3-[0-9a-f]{32}"), tag);
+        assertEquals(tag, Versioned.tag("item", 1, 3, 2, "Owner", List.of(5, 4), false));
+        assertNotEquals(tag, Versioned.tag("item", 1, 3, 2, "Renamed", List.of(5, 4), false));
+        assertNotEquals(tag, Versioned.tag("item", 1, 3, 2, "Owner", List.of(6, 5, 4), false));
+        assertNotEquals(tag, Versioned.tag("item", 1, 4, 2, "Owner", List.of(5, 4), false));
+    }
+
+    @Test
+    public void shouldSeparateAdjacentParts() {
+        assertNotEquals(Versioned.tag("booking", 1, 0, "ab", "c"), Versioned.tag("booking", 1, 0, "a", "bc"));
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.invalidation.model.CacheInvalidation;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
+import ru.practicum.shareit.invalidation.repository.CacheInvalidationRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.cache.UserCache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class CacheInvalidationBusTest {
+    private static final String PEER = "peer";
+    private static final int USER_ID = 3000;
+    private static final int ITEM_ID = 3000;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private CacheInvalidationRepository invalidationRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Cache users;
+
+    @BeforeEach
+    void setUp() {
+        users = cacheManager.getCache(UserCache.CACHE);
+        users.clear();
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", USER_ID, "Peer", "peer@mail.ru");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", USER_ID);
+        jdbcTemplate.update("DELETE FROM cache_invalidations");
+    }
+
+    @Test
+    public void shouldApplyPeerUserInvalidation() throws InterruptedException {
+        users.put(USER_ID, new User(USER_ID, "Stale", "peer@mail.ru"));
+
+        invalidationRepository.save(fromPeer(CacheRegion.USER, String.valueOf(USER_ID)));
+
+        awaitTrue(() -> users.get(USER_ID) == null);
+    }
+
+    @Test
+    public void shouldSkipOwnInvalidation() {
+        users.put(USER_ID, new User(USER_ID, "Stale", "peer@mail.ru"));
+
+        invalidationBus.publish(CacheRegion.USER, USER_ID);
+        assertNull(users.get(USER_ID));
+        users.put(USER_ID, new User(USER_ID, "Fresh", "peer@mail.ru"));
+        invalidationBus.poll();
+
+        assertNotNull(users.get(USER_ID));
+        List<CacheInvalidation> published = invalidationRepository.findAll();
+        assertEquals(1, published.size());
+        assertEquals(CacheRegion.USER, published.get(0).getRegion());
+        assertEquals(String.valueOf(USER_ID), published.get(0).getEntityIds());
+    }
+
+    @Test
+    public void shouldPublishOneRowPerBatch() throws InterruptedException {
+        users.put(USER_ID, new User(USER_ID, "Stale", "peer@mail.ru"));
+        users.put(USER_ID + 1, new User(USER_ID + 1, "Stale", "peer2@mail.ru"));
+
+        invalidationBus.publishAll(CacheRegion.BOOKING, List.of(ITEM_ID, ITEM_ID + 1));
+        invalidationRepository.save(fromPeer(CacheRegion.USER, USER_ID + "," + (USER_ID + 1)));
+
+        assertEquals(ITEM_ID + "," + (ITEM_ID + 1), invalidationRepository.findAll().stream()
+                .filter(invalidation -> invalidation.getRegion() == CacheRegion.BOOKING)
+                .findFirst()
+                .orElseThrow()
+                .getEntityIds());
+        awaitTrue(() -> users.get(USER_ID) == null && users.get(USER_ID + 1) == null);
+    }
+
+    @Test
+    public void shouldPublishOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            invalidationBus.publish(CacheRegion.USER, USER_ID);
+            assertTrue(invalidationRepository.findAll().isEmpty());
+        });
+        assertEquals(1, invalidationRepository.count());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            invalidationBus.publish(CacheRegion.USER, USER_ID);
+            status.setRollbackOnly();
+        });
+        assertEquals(1, invalidationRepository.count());
+    }
+
+    @Test
+    public void shouldApplyInvalidationCommittedAfterNewerIds() {
+        List<CacheInvalidation> newer = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            newer.add(fromPeer(CacheRegion.BOOKING, String.valueOf(ITEM_ID)));
+        }
+        invalidationRepository.saveAll(newer);
+        invalidationBus.poll();
+        users.put(USER_ID, new User(USER_ID, "Stale", "peer@mail.ru"));
+
+        // id меньше всех уже прочитанных: строка получила его раньше, а зафиксировалась позже
+        jdbcTemplate.update("INSERT INTO cache_invalidations (id, region, entity_ids, origin, created) "
+                + "VALUES (?, ?, ?, ?, ?)", -USER_ID, CacheRegion.USER.name(), String.valueOf(USER_ID), PEER, LocalDateTime.now());
+        invalidationBus.poll();
+
+        assertNull(users.get(USER_ID));
+    }
+
+    @Test
+    public void shouldReindexItemFromPeer() throws InterruptedException {
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) VALUES (?, ?, ?, ?, ?)",
+                ITEM_ID, "Перфоратор", "Мощный", true, USER_ID);
+
+        invalidationRepository.save(fromPeer(CacheRegion.ITEM, String.valueOf(ITEM_ID)));
+        awaitTrue(() -> searchIndex.search("перфоратор", 0, 10).contains(ITEM_ID));
+
+        invalidationRepository.save(fromPeer(CacheRegion.OWNER, String.valueOf(USER_ID)));
+        awaitTrue(() -> searchIndex.search("перфоратор", 0, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldCleanupExpiredInvalidations() {
+        CacheInvalidation expired = fromPeer(CacheRegion.USER, String.valueOf(USER_ID));
+        expired.setCreated(LocalDateTime.now().minusDays(1));
+        invalidationRepository.save(expired);
+
+        invalidationBus.cleanup();
+
+        assertTrue(invalidationRepository.findAll().isEmpty());
+    }
+
+    private static CacheInvalidation fromPeer(CacheRegion region, String entityIds) {
+        return new CacheInvalidation(0, region, entityIds, PEER, LocalDateTime.now());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Инвалидация не применена за 2 секунды");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -6,9 +6,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.etag.Versioned;
 import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
@@ -26,6 +29,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -65,7 +69,8 @@ public class ItemControllerTest {
                 null,
                 null,
                 null,
-                Collections.emptyList());
+                Collections.emptyList(),
+                null);
 
         commentDto = new CommentDto(
                 1,
@@ -92,6 +97,20 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(itemDto.getAvailable())));
     }
 
+    @Test
+    public void shouldGetCommentsWithNextCursor() throws Exception {
+        when(itemService.getComments(1, null, 1))
+                .thenReturn(List.of(commentDto));
+
+        mvc.perform(get("/items/1/comments")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].authorName", is(commentDto.getAuthorName())))
+                .andExpect(header().string("X-Next-Cursor", new KeysetCursor(commentDto.getCreated(), commentDto.getId()).encode()));
+    }
+
     @Test
     public void shouldUpdateItem() throws Exception {
         when(itemService.updateItem(any(ItemDto.class), any(Integer.class)))
@@ -130,7 +149,7 @@ public class ItemControllerTest {
     @Test
     public void shouldGetItem() throws Exception {
         when(itemService.itemById(any(Integer.class), any(Integer.class)))
-                .thenReturn(itemDto);
+                .thenReturn(new Versioned<>("item-1-0-0", () -> itemDto));
 
         mvc.perform(get("/items/1")
                         .content(mapper.writeValueAsString(commentDto))
@@ -188,6 +207,20 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].available", is(itemDto.getAvailable())));
     }
 
+    @Test
+    public void shouldAnswerNotModifiedWithoutBuildingItem() throws Exception {
+        when(itemService.itemById(any(Integer.class), any(Integer.class)))
+                .thenReturn(new Versioned<>("item-1-3-0", () -> {
+                    throw new AssertionError("DTO не должно строиться");
+                }));
+
+        mvc.perform(get("/items/1")
+                        .header(USER_ID, 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-3-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-3-0\""));
+    }
+
     @Test
     public void shouldHandlerItemNotFound() throws Exception {
         when(itemService.itemById(any(Integer.class), any(Integer.class)))
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexTest {
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex searchIndex;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = Mockito.mock(ItemRepository.class);
+        searchIndex = new ItemSearchIndex(itemRepository);
+        owner = new User(1, "Test", "test@mail.ru");
+    }
+
+    @Test
+    public void shouldFindByPrefixIgnoringCase() {
+        searchIndex.index(new Item(1, "Дрель", "Простая дрель", true, owner, null));
+        searchIndex.index(new Item(2, "Отвертка", "Аккумуляторная отвертка", true, owner, null));
+
+        assertEquals(List.of(1), searchIndex.search("дРе", 0, 10));
+        assertEquals(List.of(2), searchIndex.search("аккУМУЛЯТОРНАЯ", 0, 10));
+    }
+
+    @Test
+    public void shouldSkipUnavailableItemsInNameAndDescription() {
+        searchIndex.index(new Item(1, "Дрель", "Простая дрель", false, owner, null));
+        searchIndex.index(new Item(2, "Молоток", "Не дрель", false, owner, null));
+
+        assertTrue(searchIndex.search("дрель", 0, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldRankNameMatchesFirst() {
+        searchIndex.index(new Item(1, "Молоток", "Лучше, чем дрель", true, owner, null));
+        searchIndex.index(new Item(2, "Дрель", "Ударная", true, owner, null));
+        searchIndex.index(new Item(3, "Дрель", "Дрель с набором сверл", true, owner, null));
+
+        assertEquals(List.of(3, 2, 1), searchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    public void shouldMergePostingsOfAllTermsWithPrefix() {
+        searchIndex.index(new Item(3, "Дрель", "Дрель ударная", true, owner, null));
+        searchIndex.index(new Item(1, "Дрели", "Набор дрелей", true, owner, null));
+        searchIndex.index(new Item(2, "Молоток", "Не дрель", true, owner, null));
+        searchIndex.index(new Item(4, "Дрелька", "Детская", true, owner, null));
+
+        assertEquals(List.of(1, 3, 4, 2), searchIndex.search("дрел", 0, 10));
+    }
+
+    @Test
+    public void shouldRequireEveryTerm() {
+        searchIndex.index(new Item(1, "Дрель", "Ударная дрель", true, owner, null));
+        searchIndex.index(new Item(2, "Дрель", "Простая", true, owner, null));
+
+        assertEquals(List.of(1), searchIndex.search("дрель удар", 0, 10));
+        assertTrue(searchIndex.search("!!!", 0, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldUpdateIncrementally() {
+        searchIndex.index(new Item(1, "Дрель", "Простая", true, owner, null));
+        searchIndex.index(new Item(1, "Пила", "Простая", true, owner, null));
+
+        assertTrue(searchIndex.search("дрель", 0, 10).isEmpty());
+        assertEquals(List.of(1), searchIndex.search("пила", 0, 10));
+
+        searchIndex.remove(1);
+
+        assertTrue(searchIndex.search("пила", 0, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldRemoveByOwner() {
+        User other = new User(2, "Other", "other@mail.ru");
+        searchIndex.index(new Item(1, "Дрель", "Простая", true, owner, null));
+        searchIndex.index(new Item(2, "Дрель", "Простая", true, other, null));
+
+        searchIndex.removeByOwner(1);
+
+        assertEquals(List.of(2), searchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    public void shouldPageResults() {
+        for (int i = 1; i <= 5; i++) {
+            searchIndex.index(new Item(i, "Дрель " + i, "Простая", true, owner, null));
+        }
+
+        assertEquals(List.of(3, 4), searchIndex.search("дрель", 2, 2));
+        assertEquals(List.of(5), searchIndex.search("дрель", 4, 2));
+    }
+
+    @Test
+    public void shouldRebuildFromRepository() {
+        when(itemRepository.findAll())
+                .thenReturn(List.of(new Item(7, "Пила", "Ручная", true, owner, null)));
+        searchIndex.index(new Item(1, "Дрель", "Простая", true, owner, null));
+
+        searchIndex.rebuild();
+
+        assertTrue(searchIndex.search("дрель", 0, 10).isEmpty());
+        assertEquals(List.of(7), searchIndex.search("ручн", 0, 10));
+    }
+
+    @Test
+    public void shouldReplayWritesMadeWhileRebuilding() {
+        User other = new User(2, "Other", "other@mail.ru");
+        when(itemRepository.findAll()).thenAnswer(invocation -> {
+            List<Item> snapshot = List.of(new Item(7, "Пила", "Ручная", true, owner, null),
+                    new Item(8, "Пила", "Цепная", true, other, null));
+            searchIndex.index(new Item(9, "Дрель", "Простая", true, owner, null));
+            searchIndex.removeByOwner(other.getId());
+            searchIndex.index(new Item(7, "Пила", "Электрическая", true, owner, null));
+            return snapshot;
+        });
+
+        searchIndex.rebuild();
+
+        assertEquals(List.of(9), searchIndex.search("дрель", 0, 10));
+        assertEquals(List.of(7), searchIndex.search("пила", 0, 10));
+        assertTrue(searchIndex.search("ручная", 0, 10).isEmpty());
+    }
+}
@@ -6,31 +6,41 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.invalidation.CacheInvalidationBus;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.snapshot.BookingSnapshotStore;
+import ru.practicum.shareit.etag.Versioned;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
+import ru.practicum.shareit.item.comment.RecentCommentStore;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
@@ -40,9 +50,16 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -62,8 +79,15 @@ public class ItemServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
     private ItemService itemService;
 
+    private ItemSearchIndex searchIndex;
+
+    private RecentCommentStore commentStore;
+
     private ItemDto itemDto;
 
     private UserDto userDto;
@@ -86,7 +110,8 @@ public class ItemServiceTest {
                 null,
                 null,
                 null,
-                Collections.emptyList());
+                Collections.emptyList(),
+                null);
 
         commentDto = new CommentDto(
                 1,
@@ -94,7 +119,13 @@ public class ItemServiceTest {
                 "Test name",
                 LocalDateTime.now());
 
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository);
+        searchIndex = new ItemSearchIndex(itemRepository);
+
+        commentStore = new RecentCommentStore(commentRepository,
+                new ConcurrentMapCacheManager(RecentCommentStore.CACHE), 2);
+
+        itemService = new ItemServiceImpl(itemRepository, new UserCache(userRepository), bookingRepository, commentRepository,
+                searchIndex, invalidationBus, new BookingSnapshotStore(bookingRepository, 100), commentStore);
     }
 
     @Test
@@ -201,15 +232,12 @@ public class ItemServiceTest {
         Item item = ItemMapper.toItem(itemDto);
         when(itemRepository.findById(any(Integer.class)))
                 .thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemIdOrderByCreated(any(Integer.class)))
+        when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
                 .thenReturn(Collections.emptyList());
-        when(bookingRepository.findFirstByItemIdAndStartIsBeforeAndStatusOrderByStartDesc(any(Integer.class),
-                any(LocalDateTime.class), any(Status.class)))
-                .thenReturn(null);
-        when(bookingRepository.findFirstByItemIdAndStartIsAfterAndStatusOrderByStartAsc(any(Integer.class), any(LocalDateTime.class), any(Status.class)))
-                .thenReturn(null);
 
-        ItemDto createdItem = itemService.itemById(1, 1);
+        ItemDto createdItem = itemService.itemById(1, 1).get();
 
         assertEquals(item.getId(), createdItem.getId());
         assertEquals(item.getName(), createdItem.getName());
@@ -221,16 +249,79 @@ public class ItemServiceTest {
         Item item = ItemMapper.toItem(itemDto);
         when(itemRepository.findById(any(Integer.class)))
                 .thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemIdOrderByCreated(any(Integer.class)))
-                .thenReturn(Collections.emptyList());
 
-        ItemDto createdItem = itemService.itemById(1, 2);
+        ItemDto createdItem = itemService.itemById(1, 2).get();
 
         assertEquals(item.getId(), createdItem.getId());
         assertEquals(item.getName(), createdItem.getName());
         assertEquals(item.getDescription(), createdItem.getDescription());
     }
 
+    @Test
+    public void shouldEmbedRecentCommentsInCreationOrderWithCursor() {
+        Item item = ItemMapper.toItem(itemDto);
+        LocalDateTime now = LocalDateTime.now();
+        when(itemRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findNewestByItemIds(anyCollection(), anyInt()))
+                .thenReturn(List.of(view(1, 3, now), view(1, 2, now.minusHours(1)), view(1, 1, now.minusHours(2))));
+
+        ItemDto first = itemService.itemById(1, 2).get();
+        ItemDto second = itemService.itemById(1, 2).get();
+
+        assertEquals(2, first.getComments().size());
+        assertEquals(2, first.getComments().get(0).getId());
+        assertEquals(3, first.getComments().get(1).getId());
+        assertEquals(new KeysetCursor(now.minusHours(1), 2).encode(), first.getCommentsCursor());
+        assertEquals(first.getComments(), second.getComments());
+        verify(commentRepository, times(1)).findNewestByItemIds(List.of(1), 3);
+    }
+
+    @Test
+    public void shouldAddCommentToCachedComments() {
+        Item item = ItemMapper.toItem(itemDto);
+        User user = UserMapper.toUser(userDto);
+        Booking booking = BookingMapper.toBooking(new BookingDtoInput(1, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1)), item, user);
+        when(itemRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(item));
+        when(userRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(user));
+        when(bookingRepository.findFirstByItemIdAndBookerIdAndEndIsBeforeAndStatus(any(Integer.class),
+                any(Integer.class), any(LocalDateTime.class), any(Status.class)))
+                .thenReturn(booking);
+        when(commentRepository.save(any(Comment.class)))
+                .thenReturn(new Comment(7, "Test text", item, user, LocalDateTime.now()));
+        String tag = itemService.itemById(1, 2).getTag();
+
+        itemService.addComment(commentDto, 1, 1);
+        Versioned<ItemDto> versioned = itemService.itemById(1, 2);
+        ItemDto itemWithComment = versioned.get();
+
+        assertNotEquals(tag, versioned.getTag());
+
+        assertEquals(1, itemWithComment.getComments().size());
+        assertEquals(7, itemWithComment.getComments().get(0).getId());
+        assertNull(itemWithComment.getCommentsCursor());
+        verify(commentRepository, times(1)).findNewestByItemIds(anyCollection(), anyInt());
+        verify(invalidationBus).publish(CacheRegion.COMMENT, 1);
+    }
+
+    @Test
+    public void shouldGetCommentsAfterCursor() {
+        Item item = ItemMapper.toItem(itemDto);
+        LocalDateTime created = LocalDateTime.now();
+        when(itemRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findNewestByItemIdBefore(eq(1), eq(created), eq(5), any(Pageable.class)))
+                .thenReturn(List.of(commentDto));
+
+        List<CommentDto> comments = itemService.getComments(1, new KeysetCursor(created, 5).encode(), 10);
+
+        assertEquals(List.of(commentDto), comments);
+        assertThrows(ValidationException.class, () -> itemService.getComments(1, "broken", 10));
+    }
+
     @Test
     public void shouldToCommentDto() {
         Item item = ItemMapper.toItem(itemDto);
@@ -246,18 +337,39 @@ public class ItemServiceTest {
 
     @Test
     public void shouldSearchItem() {
-        when(itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(
-                any(String.class), any(String.class), any(Pageable.class)))
-                .thenReturn(Page.empty());
-
         List<ItemDto> searchItems = itemService.searchItem("Text", 1, 2);
 
-        verify(itemRepository, times(1))
-                .findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(
-                        any(String.class), any(String.class), any(Pageable.class));
+        verify(itemRepository, never()).findAllByIdIn(anyCollection());
         assertEquals(0, searchItems.size());
     }
 
+    @Test
+    public void shouldSearchItemFromIndex() {
+        Item item = ItemMapper.toItem(itemDto);
+        searchIndex.index(item);
+        when(itemRepository.findAllByIdIn(anyCollection()))
+                .thenReturn(List.of(item));
+
+        List<ItemDto> searchItems = itemService.searchItem("tes", 0, 10);
+
+        verify(itemRepository, times(1)).findAllByIdIn(List.of(1));
+        assertEquals(1, searchItems.size());
+        assertEquals(item.getId(), searchItems.get(0).getId());
+    }
+
+    @Test
+    public void shouldCreateItemAndIndexIt() {
+        Item item = ItemMapper.toItem(itemDto);
+        when(userRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(UserMapper.toUser(userDto)));
+        when(itemRepository.save(any(Item.class)))
+                .thenReturn(item);
+
+        itemService.createItem(itemDto, 1);
+
+        assertEquals(List.of(1), searchIndex.search("description", 0, 10));
+    }
+
     @Test
     public void shouldSearchItemByTextEmpty() {
         List<ItemDto> searchItems = itemService.searchItem("", 1, 2);
@@ -274,13 +386,9 @@ public class ItemServiceTest {
 
         when(itemRepository.findAllByOwnerId(any(Integer.class), any(Pageable.class)))
                 .thenReturn(page);
-        when(bookingRepository.findFirstByItemIdAndStartIsBeforeAndStatusOrderByStartDesc(
-                any(Integer.class), any(LocalDateTime.class), any(Status.class)))
-                .thenReturn(null);
-        when(bookingRepository.findFirstByItemIdAndStartIsAfterAndStatusOrderByStartAsc(
-                any(Integer.class), any(LocalDateTime.class), any(Status.class)))
-                .thenReturn(null);
-        when(commentRepository.findAllByItemIdOrderByCreated(any(Integer.class)))
+        when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
                 .thenReturn(Collections.emptyList());
 
         List<ItemDto> itemsByOwner = itemService.allItemsByOwner(1, 1, 2);
@@ -288,13 +396,85 @@ public class ItemServiceTest {
         verify(itemRepository, times(1))
                 .findAllByOwnerId(any(Integer.class), any(Pageable.class));
         verify(bookingRepository, times(1))
-                .findFirstByItemIdAndStartIsBeforeAndStatusOrderByStartDesc(
-                        any(Integer.class), any(LocalDateTime.class), any(Status.class));
+                .findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString());
         verify(bookingRepository, times(1))
-                .findFirstByItemIdAndStartIsAfterAndStatusOrderByStartAsc(
-                        any(Integer.class), any(LocalDateTime.class), any(Status.class));
+                .findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString());
         verify(commentRepository, times(1))
-                .findAllByItemIdOrderByCreated(any(Integer.class));
+                .findNewestByItemIds(anyCollection(), anyInt());
         assertEquals(1, itemsByOwner.size());
+        assertEquals(0, itemsByOwner.get(0).getComments().size());
+    }
+
+    @Test
+    public void shouldAllItemsByOwnerWithBookingsAndComments() {
+        User user = UserMapper.toUser(userDto);
+        Item firstItem = ItemMapper.toItem(itemDto);
+        Item secondItem = new Item(2, "Second", "Second description", true, user, null);
+        Page<Item> page = new PageImpl<>(List.of(secondItem, firstItem));
+        Booking lastBooking = new Booking(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                firstItem, user, Status.APPROVED);
+        Booking nextBooking = new Booking(2, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                secondItem, user, Status.APPROVED);
+
+        when(itemRepository.findAllByOwnerId(any(Integer.class), any(Pageable.class)))
+                .thenReturn(page);
+        when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenReturn(List.of(lastBooking));
+        when(bookingRepository.findNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString()))
+                .thenReturn(List.of(nextBooking));
+        when(commentRepository.findNewestByItemIds(anyCollection(), anyInt()))
+                .thenReturn(List.of(view(2, 1, LocalDateTime.now())));
+
+        List<ItemDto> itemsByOwner = itemService.allItemsByOwner(1, 0, 10);
+
+        assertEquals(2, itemsByOwner.size());
+        assertEquals(1, itemsByOwner.get(0).getId());
+        assertEquals(lastBooking.getId(), itemsByOwner.get(0).getLastBooking().getId());
+        assertNull(itemsByOwner.get(0).getNextBooking());
+        assertEquals(0, itemsByOwner.get(0).getComments().size());
+        assertNull(itemsByOwner.get(1).getLastBooking());
+        assertEquals(nextBooking.getId(), itemsByOwner.get(1).getNextBooking().getId());
+        assertEquals(1, itemsByOwner.get(1).getComments().size());
+    }
+
+    @Test
+    public void shouldAllItemsByOwnerEmpty() {
+        when(itemRepository.findAllByOwnerId(any(Integer.class), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        List<ItemDto> itemsByOwner = itemService.allItemsByOwner(1, 0, 10);
+
+        verify(bookingRepository, never())
+                .findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class), anyString());
+        assertEquals(0, itemsByOwner.size());
+    }
+
+    private static CommentView view(int itemId, int id, LocalDateTime created) {
+        return new CommentView() {
+            @Override
+            public Integer getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getText() {
+                return "Test text";
+            }
+
+            @Override
+            public String getAuthorName() {
+                return "Test name";
+            }
+
+            @Override
+            public LocalDateTime getCreated() {
+                return created;
+            }
+        };
     }
 }
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import ru.practicum.shareit.invalidation.CacheInvalidationEvent;
+import ru.practicum.shareit.invalidation.model.CacheRegion;
+import ru.practicum.shareit.item.comment.RecentCommentStore;
+import ru.practicum.shareit.item.comment.RecentComments;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.repository.CommentRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+public class RecentCommentStoreTest {
+    @Mock
+    private CommentRepository commentRepository;
+
+    private RecentCommentStore commentStore;
+
+    @BeforeEach
+    void setUp() {
+        commentStore = new RecentCommentStore(commentRepository,
+                new ConcurrentMapCacheManager(RecentCommentStore.CACHE), 2);
+    }
+
+    @Test
+    public void shouldLoadOnlyMissingItems() {
+        commentStore.get(1);
+
+        Map<Integer, RecentComments> comments = commentStore.getAll(List.of(1, 2));
+
+        assertEquals(2, comments.size());
+        verify(commentRepository).findNewestByItemIds(eq(List.of(1)), eq(3));
+        verify(commentRepository).findNewestByItemIds(eq(List.of(2)), eq(3));
+    }
+
+    @Test
+    public void shouldPrependAddedCommentAndKeepLimit() {
+        commentStore.get(1);
+
+        commentStore.add(1, comment(1));
+        commentStore.add(1, comment(2));
+        commentStore.add(1, comment(2));
+        commentStore.add(1, comment(3));
+        RecentComments recent = commentStore.get(1);
+
+        assertEquals(List.of(3, 2), recent.getComments().stream()
+                .map(CommentDto::getId)
+                .collect(Collectors.toList()));
+        assertTrue(recent.isMore());
+        verify(commentRepository, times(1)).findNewestByItemIds(anyCollection(), anyInt());
+    }
+
+    @Test
+    public void shouldReloadAfterInvalidation() {
+        commentStore.get(1);
+
+        commentStore.onInvalidation(new CacheInvalidationEvent(CacheRegion.BOOKING, 1));
+        commentStore.get(1);
+        commentStore.onInvalidation(new CacheInvalidationEvent(CacheRegion.COMMENT, 1));
+        commentStore.get(1);
+        commentStore.onInvalidation(new CacheInvalidationEvent(CacheRegion.USER, 7));
+        RecentComments recent = commentStore.get(1);
+
+        assertFalse(recent.isMore());
+        verify(commentRepository, times(3)).findNewestByItemIds(anyCollection(), anyInt());
+    }
+
+    private static CommentDto comment(int id) {
+        return new CommentDto(id, "Test text", "Test name", LocalDateTime.now());
+    }
+}
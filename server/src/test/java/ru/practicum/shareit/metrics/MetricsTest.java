@@ -0,0 +1,109 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.handler.ErrorHandler;
+import ru.practicum.shareit.user.cache.UserCache;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@Transactional
+public class MetricsTest {
+    private static final int USER_ID = 4000;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserCache.CACHE).clear();
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", USER_ID, "Metrics",
+                "metrics@mail.ru");
+    }
+
+    @Test
+    public void shouldTimeServiceMethodsAndRepositoryFinders() throws Exception {
+        long services = serviceCount("UserService", "userById");
+        long queries = repositoryCount("UserRepository", "findById");
+
+        mvc.perform(get("/users/" + USER_ID)).andExpect(status().isOk());
+
+        assertEquals(services + 1, serviceCount("UserService", "userById"));
+        assertEquals(queries + 1, repositoryCount("UserRepository", "findById"));
+        DistributionSummary rows = meterRegistry.find(MethodMetrics.REPOSITORY_ROWS)
+                .tags("repository", "UserRepository", "method", "findById")
+                .summary();
+        assertEquals(rows.count(), rows.totalAmount(), 0.0);
+        assertNull(meterRegistry.find(MethodMetrics.REPOSITORY_ROWS)
+                .tags("repository", "BookingRepository",
+                        "method", "existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter")
+                .summary());
+    }
+
+    @Test
+    public void shouldCountDomainExceptions() throws Exception {
+        double before = errorCount();
+
+        mvc.perform(get("/users/" + (USER_ID + 1))).andExpect(status().isNotFound());
+
+        assertEquals(before + 1, errorCount());
+    }
+
+    @Test
+    public void shouldExposePrometheusScrape() throws Exception {
+        mvc.perform(get("/users/" + USER_ID)).andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_method_seconds_bucket")))
+                .andExpect(content().string(containsString("shareit_repository_rows_count")));
+    }
+
+    private long serviceCount(String service, String method) {
+        Timer timer = meterRegistry.find(MethodMetrics.SERVICE_TIMER).tags("service", service, "method", method)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long repositoryCount(String repository, String method) {
+        Timer timer = meterRegistry.find(MethodMetrics.REPOSITORY_TIMER)
+                .tags("repository", repository, "method", method)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double errorCount() {
+        return meterRegistry.find(ErrorHandler.ERRORS).tags("exception", "UserNotFoundException").counters()
+                .stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.etag.Versioned;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -106,7 +107,7 @@ public class ItemRequestControllerTest {
     @Test
     void shouldGetItemRequestById() throws Exception {
         when(service.itemRequestById(any(Integer.class), any(Integer.class)))
-                .thenReturn(requestDto);
+                .thenReturn(new Versioned<>("request-1-0-0", () -> requestDto));
 
         mvc.perform(get("/requests/1")
                         .content(mapper.writeValueAsString(requestDto))
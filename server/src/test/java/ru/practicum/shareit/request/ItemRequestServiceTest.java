@@ -11,6 +11,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemsSummary;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -19,6 +21,7 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
@@ -29,9 +32,11 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.never;
 
 @SpringBootTest
 @Transactional
@@ -46,6 +51,9 @@ public class ItemRequestServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemsSummary itemsSummary;
+
     private ItemRequestService requestService;
 
     private ItemRequestDto requestDto;
@@ -66,7 +74,8 @@ public class ItemRequestServiceTest {
                 date,
                 Collections.emptyList());
 
-        requestService = new ItemRequestServiceImpl(requestRepository, userRepository, itemRepository);
+        requestService = new ItemRequestServiceImpl(requestRepository, userRepository,
+                new UserCache(userRepository), itemRepository);
     }
 
     @Test
@@ -96,8 +105,10 @@ public class ItemRequestServiceTest {
                 .thenReturn(Optional.of(user));
         when(requestRepository.findById(any(Integer.class)))
                 .thenReturn(Optional.of(ItemRequestMapper.toItemRequest(requestDto, user)));
+        when(itemRepository.summarizeByRequestId(1))
+                .thenReturn(itemsSummary);
 
-        ItemRequestDto request = requestService.itemRequestById(1, 1);
+        ItemRequestDto request = requestService.itemRequestById(1, 1).get();
 
         assertEquals(requestDto.getId(), request.getId());
         assertEquals(requestDto.getDescription(), request.getDescription());
@@ -132,12 +143,31 @@ public class ItemRequestServiceTest {
                 .thenReturn(Optional.of(user));
         when(requestRepository.findAllByRequesterIdNot(any(Integer.class), any(Pageable.class)))
                 .thenReturn(Page.empty());
-        when(itemRepository.findAllByRequestId(any(Integer.class)))
-                .thenReturn(Collections.emptyList());
-
         List<ItemRequestDto> saveRequest = requestService.allItemRequests(1,1,1);
         verify(requestRepository, times(1))
                 .findAllByRequesterIdNot(any(Integer.class), any(Pageable.class));
         assertEquals(0, saveRequest.size());
     }
+
+    @Test
+    public void shouldGetOwnItemRequestsWithItemsInOneQuery() {
+        ItemRequest first = new ItemRequest(1, "first", user, LocalDateTime.now());
+        ItemRequest second = new ItemRequest(2, "second", user, LocalDateTime.now());
+        Item item = new Item(1, "Дрель", "Простая дрель", true, user, 1);
+
+        when(userRepository.findById(any(Integer.class)))
+                .thenReturn(Optional.of(user));
+        when(requestRepository.findAllByRequesterIdOrderByCreatedDesc(any(Integer.class)))
+                .thenReturn(List.of(first, second));
+        when(itemRepository.findAllByRequestIdIn(anyCollection()))
+                .thenReturn(List.of(item));
+
+        List<ItemRequestDto> requests = requestService.getItemRequestsByOwnerId(1);
+
+        verify(itemRepository, times(1)).findAllByRequestIdIn(List.of(1, 2));
+        verify(itemRepository, never()).findAllByRequestId(any(Integer.class));
+        assertEquals(1, requests.get(0).getItems().size());
+        assertEquals(item.getId(), requests.get(0).getItems().get(0).getId());
+        assertEquals(0, requests.get(1).getItems().size());
+    }
 }
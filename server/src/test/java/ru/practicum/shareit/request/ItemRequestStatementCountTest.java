@@ -0,0 +1,86 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.Fixtures;
+import ru.practicum.shareit.SqlCapture;
+import ru.practicum.shareit.user.cache.UserCache;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.Fixtures.id;
+
+@SpringBootTest(properties = SqlCapture.PROPERTY)
+@AutoConfigureMockMvc
+@Transactional
+public class ItemRequestStatementCountTest {
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private static final int REQUESTER_ID = id(0);
+    private static final int OTHER_ID = id(1);
+    private static final int REQUESTS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserCache.CACHE).clear();
+
+        Fixtures fixtures = new Fixtures(jdbcTemplate);
+        for (int i = 0; i <= REQUESTS + 1; i++) {
+            fixtures.user(REQUESTER_ID + i, "user" + i, "request" + i + "@mail.ru");
+        }
+
+        LocalDateTime created = LocalDateTime.now();
+        for (int i = 0; i < REQUESTS; i++) {
+            fixtures.request(id(i), "request" + i, REQUESTER_ID, created.minusMinutes(i))
+                    .item(id(i), "item" + i, "description" + i, REQUESTER_ID + 2 + i, id(i));
+        }
+        fixtures.insert();
+    }
+
+    @Test
+    public void shouldLoadOwnRequestsWithItemsInTwoQueries() throws Exception {
+        assertStatements(get("/requests")
+                .header(USER_ID, REQUESTER_ID));
+    }
+
+    @Test
+    public void shouldLoadAllRequestsWithItemsInTwoQueries() throws Exception {
+        assertStatements(get("/requests/all")
+                .header(USER_ID, OTHER_ID)
+                .param("size", String.valueOf(REQUESTS)));
+    }
+
+    private void assertStatements(MockHttpServletRequestBuilder request) throws Exception {
+        SqlCapture.clear();
+
+        mvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(REQUESTS)))
+                .andExpect(jsonPath("$[0].items", hasSize(1)));
+
+        // проверка пользователя, запросы и вещи с владельцами
+        assertEquals(3, SqlCapture.statements().size(), SqlCapture.statements().toString());
+    }
+}
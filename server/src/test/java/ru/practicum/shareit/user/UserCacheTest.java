@@ -0,0 +1,94 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.SqlCapture;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.cache.UserCache;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = SqlCapture.PROPERTY)
+public class UserCacheTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemRequestService requestService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserCache.CACHE).clear();
+    }
+
+    @Test
+    public void shouldServeUserFromCacheUntilUpdateOrDelete() {
+        int id = userService.createUser(new UserDto(0, "Cache", "cache@mail.ru")).getId();
+
+        SqlCapture.clear();
+        userService.userById(id);
+        assertEquals(1, SqlCapture.statements().size(), SqlCapture.statements().toString());
+
+        SqlCapture.clear();
+        userService.userById(id);
+        requestService.getItemRequestsByOwnerId(id);
+        assertEquals(1, SqlCapture.statements().size(), SqlCapture.statements().toString());
+        assertTrue(SqlCapture.statements().get(0).contains("item_request"));
+
+        userService.updateUser(new UserDto(id, "Updated", null), id);
+        assertEquals("Updated", userService.userById(id).getName());
+
+        userService.deleteUser(id);
+        assertThrows(UserNotFoundException.class, () -> userService.userById(id));
+
+        double hits = meterRegistry.get("cache.gets")
+                .tags("cache", UserCache.CACHE, "result", "hit")
+                .functionCounter()
+                .count();
+        assertTrue(hits >= 2);
+    }
+
+    @Test
+    public void shouldEvictUserAfterCommit() {
+        int id = userService.createUser(new UserDto(0, "Before", "commit@mail.ru")).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(new UserDto(id, "After", null), id);
+            CompletableFuture.runAsync(() -> userService.userById(id)).join();
+        });
+
+        assertEquals("After", userService.userById(id).getName());
+        userService.deleteUser(id);
+    }
+
+    @Test
+    public void shouldNotShareCachedUserBetweenCallers() {
+        int id = userService.createUser(new UserDto(0, "Shared", "shared@mail.ru")).getId();
+
+        userService.userById(id).setName("Changed");
+
+        assertEquals("Shared", userService.userById(id).getName());
+        userService.deleteUser(id);
+    }
+}
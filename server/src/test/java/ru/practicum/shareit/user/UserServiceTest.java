@@ -8,11 +8,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.invalidation.CacheInvalidationBus;
 import ru.practicum.shareit.exception.UserAlreadyExistsException;
+import ru.practicum.shareit.item.comment.RecentCommentStore;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
@@ -38,6 +42,12 @@ public class UserServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private RecentCommentStore commentStore;
+
     private UserService userService;
 
     private UserDto userDto;
@@ -49,12 +59,13 @@ public class UserServiceTest {
                 "Test",
                 "test@mail.ru");
 
-        userService = new UserServiceImpl(userRepository, itemRepository);
+        userService = new UserServiceImpl(userRepository, new UserCache(userRepository), itemRepository,
+                new ItemSearchIndex(itemRepository), invalidationBus, commentStore);
     }
 
     @Test
     public void shouldCreateUser() {
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenReturn(UserMapper.toUser(userDto));
 
         UserDto createdUser = userService.createUser(userDto);
@@ -65,7 +76,7 @@ public class UserServiceTest {
 
     @Test
     public void shouldNotCreateUser() {
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenThrow(new DataIntegrityViolationException("Пользователь с email = " + userDto.getEmail()
                         + " уже существует"));
 